@@ -3,6 +3,7 @@ import java.util.Properties
 plugins {
     java
     id("io.papermc.paperweight.userdev") version "1.7.1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 // Load version from properties file
@@ -25,12 +26,31 @@ repositories {
 dependencies {
     paperweight.paperDevBundle("1.21.1-R0.1-SNAPSHOT")
     implementation("dev.triumphteam:triumph-gui:3.1.7")
+
+    testImplementation(platform("org.junit:junit-bom:5.10.2"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    // Benchmarks only touch API types, never a running server
+    jmhImplementation("io.papermc.paper:paper-api:1.21.1-R0.1-SNAPSHOT")
 }
 
 java {
     toolchain.languageVersion.set(JavaLanguageVersion.of(21))
 }
 
+tasks.test {
+    useJUnitPlatform()
+}
+
+// ./gradlew jmh; the gc profiler reports allocation per operation
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    profilers.add("gc")
+}
+
 tasks.processResources {
     filteringCharset = "UTF-8"
     filesMatching("plugin.yml") {
@@ -0,0 +1,89 @@
+package dev.sora.itemcreator.abilities;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cooldown check-and-record, as done on every ability trigger, in the slot
+ * and ordinal store against the nested HashMap of boxed timestamps it
+ * replaced. The old side is the replaced AbilityManager code as it was: a
+ * get for the cooldown check, then computeIfAbsent and put to record the use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CooldownStoreBenchmark {
+    private static final String[] TYPES = { "heal", "lightning", "fireball", "teleport", "speed", "explosion" };
+
+    @Param({ "20", "200", "1000" })
+    public int players;
+
+    private UUID[] uuids;
+    private int[] typeOrdinals;
+    private CooldownStore store;
+    private Map<UUID, Map<String, Long>> nested;
+    private int next;
+    private long now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        uuids = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            uuids[i] = UUID.randomUUID();
+        }
+        store = new CooldownStore();
+        typeOrdinals = new int[TYPES.length];
+        for (int i = 0; i < TYPES.length; i++) {
+            typeOrdinals[i] = store.ordinal(TYPES[i]);
+        }
+        nested = new HashMap<>();
+
+        // Every player has used every ability once, so both sides start warm
+        for (UUID uuid : uuids) {
+            for (int i = 0; i < TYPES.length; i++) {
+                store.setLastUsed(uuid, typeOrdinals[i], 1);
+                nested.computeIfAbsent(uuid, k -> new HashMap<>()).put(TYPES[i], 1L);
+            }
+        }
+    }
+
+    private int advance() {
+        int index = next;
+        next = next + 1 == players * TYPES.length ? 0 : next + 1;
+        now++;
+        return index;
+    }
+
+    @Benchmark
+    public long slotStore() {
+        int index = advance();
+        UUID player = uuids[index / TYPES.length];
+        int ordinal = typeOrdinals[index % TYPES.length];
+        long last = store.getLastUsed(player, ordinal);
+        store.setLastUsed(player, ordinal, now);
+        return last;
+    }
+
+    @Benchmark
+    public long nestedMap() {
+        int index = advance();
+        UUID player = uuids[index / TYPES.length];
+        String type = TYPES[index % TYPES.length];
+        Map<String, Long> cooldowns = nested.get(player);
+        Long last = cooldowns != null ? cooldowns.get(type) : null;
+        nested.computeIfAbsent(player, k -> new HashMap<>()).put(type, now);
+        return last != null ? last : 0;
+    }
+}
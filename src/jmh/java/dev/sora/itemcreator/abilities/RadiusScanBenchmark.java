@@ -0,0 +1,119 @@
+package dev.sora.itemcreator.abilities;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Two ways of finding the players within a radius, over plain coordinate
+ * arrays: a scan of every player with a square root per distance, and a scan
+ * of per-chunk buckets around the center with squared distances.
+ * <p>
+ * This is not a benchmark of {@link SpatialQuery}. Its candidates come from
+ * the server's World#getNearbyEntitiesByType, which needs a running server,
+ * and the buckets here are a hand-written stand-in for the server's entity
+ * sections. The numbers only show how the two scan shapes scale with player
+ * count. Players are spread over a 512 block square and queried with a 10
+ * block radius, the default area-ability size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RadiusScanBenchmark {
+    private static final int AREA = 512;
+    private static final double RADIUS = 10;
+    private static final int CENTERS = 64;
+
+    @Param({ "50", "300", "1000" })
+    public int players;
+
+    private double[][] positions;
+    private Map<Long, List<double[]>> byChunk;
+    private double[][] centers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        positions = new double[players][];
+        byChunk = new HashMap<>();
+        for (int i = 0; i < players; i++) {
+            double[] position = { random.nextDouble() * AREA, 64 + random.nextInt(8), random.nextDouble() * AREA };
+            positions[i] = position;
+            byChunk.computeIfAbsent(chunkKey((int) position[0] >> 4, (int) position[2] >> 4), k -> new ArrayList<>())
+                    .add(position);
+        }
+        // Abilities fire where players are, so queries are centred on them
+        centers = new double[CENTERS][];
+        for (int i = 0; i < CENTERS; i++) {
+            centers[i] = positions[random.nextInt(players)];
+        }
+    }
+
+    private static long chunkKey(int x, int z) {
+        return (long) x & 0xffffffffL | ((long) z & 0xffffffffL) << 32;
+    }
+
+    private double[] nextCenter() {
+        double[] center = centers[next];
+        next = next + 1 == CENTERS ? 0 : next + 1;
+        return center;
+    }
+
+    @Benchmark
+    public List<double[]> worldScan() {
+        double[] center = nextCenter();
+        List<double[]> result = new ArrayList<>();
+        for (double[] player : positions) {
+            // A copy per player, like the getLocation() the old scan called
+            double[] location = player.clone();
+            double dx = location[0] - center[0];
+            double dy = location[1] - center[1];
+            double dz = location[2] - center[2];
+            if (Math.sqrt(dx * dx + dy * dy + dz * dz) <= RADIUS) {
+                result.add(player);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<double[]> bucketScan() {
+        double[] center = nextCenter();
+        List<double[]> result = new ArrayList<>();
+        double radiusSquared = RADIUS * RADIUS;
+        int minX = (int) Math.floor(center[0] - RADIUS) >> 4;
+        int maxX = (int) Math.floor(center[0] + RADIUS) >> 4;
+        int minZ = (int) Math.floor(center[2] - RADIUS) >> 4;
+        int maxZ = (int) Math.floor(center[2] + RADIUS) >> 4;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                List<double[]> candidates = byChunk.get(chunkKey(x, z));
+                if (candidates == null)
+                    continue;
+                for (double[] player : candidates) {
+                    double dx = player[0] - center[0];
+                    double dy = player[1] - center[1];
+                    double dz = player[2] - center[2];
+                    if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                        result.add(player);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
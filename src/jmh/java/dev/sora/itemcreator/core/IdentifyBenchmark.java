@@ -0,0 +1,104 @@
+package dev.sora.itemcreator.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The registry side of item identification, once the tag value has been read
+ * off the stack: the old lookup (a key built per call, a hash lookup by id
+ * string, an Optional) against the new one (epoch check and an array index by
+ * handle), on a real registry snapshot. Run with the gc profiler and compare
+ * gc.alloc.rate.norm.
+ * <p>
+ * Reading the tag itself is not covered. The old path's getItemMeta() copy and
+ * the new path's persistent data view are CraftBukkit code and need a running
+ * server, so their allocation has to be measured there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdentifyBenchmark {
+    @Param({ "50", "500" })
+    public int items;
+
+    private File handlesFile;
+    private RegistrySnapshot snapshot;
+    private int epoch;
+    // The tag values a stack of each item carries
+    private String[] ids;
+    private Long[] handleTags;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        handlesFile = Files.createTempFile("handles", ".yml").toFile();
+        handlesFile.delete();
+        ItemHandles handles = new ItemHandles(handlesFile);
+        handles.load();
+        epoch = handles.getEpoch();
+
+        Map<String, CustomItem> catalog = new LinkedHashMap<>();
+        for (int i = 0; i < items; i++) {
+            String id = "item_" + i;
+            catalog.put(id, new CustomItem(id, Material.DIAMOND_SWORD, "Item " + i, List.of("line"), i));
+        }
+        snapshot = new RegistrySnapshot(catalog, Map.of()).withHandles(handles);
+
+        ids = new String[items];
+        handleTags = new Long[items];
+        for (int i = 0; i < items; i++) {
+            ids[i] = "item_" + i;
+            handleTags[i] = (long) epoch << 32 | handles.assign(ids[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        handlesFile.delete();
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = next + 1 == items ? 0 : next + 1;
+        return index;
+    }
+
+    /**
+     * As the original fromStack did after reading the cid tag
+     */
+    @Benchmark
+    public Optional<CustomItem> byIdString(Blackhole blackhole) {
+        // The key was passed to the PDC read; consumed so it isn't optimized away
+        blackhole.consume(new NamespacedKey(CustomItem.PDC_NAMESPACE, "cid"));
+        return Optional.ofNullable(snapshot.get(ids[nextIndex()]));
+    }
+
+    /**
+     * As identify() does after reading the handle tag
+     */
+    @Benchmark
+    public CustomItem byHandle() {
+        Long tag = handleTags[nextIndex()];
+        return (int) (tag >>> 32) == epoch ? snapshot.byHandle((int) (long) tag) : null;
+    }
+}
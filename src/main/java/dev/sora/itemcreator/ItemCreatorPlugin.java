@@ -1,64 +1,138 @@
 package dev.sora.itemcreator;
 
 import java.io.File;
+import java.io.IOException;
 
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import dev.sora.itemcreator.abilities.AbilityManager;
 import dev.sora.itemcreator.commands.AbilitiesCommand;
+import dev.sora.itemcreator.commands.AbilitiesTabCompleter;
 import dev.sora.itemcreator.commands.CreateRecipeCommand;
 import dev.sora.itemcreator.commands.GiveItemCommand;
+import dev.sora.itemcreator.commands.GiveItemTabCompleter;
 import dev.sora.itemcreator.commands.ReloadCommand;
+import dev.sora.itemcreator.core.CatalogReloader;
+import dev.sora.itemcreator.core.CustomBlockStore;
 import dev.sora.itemcreator.core.CustomItemRegistry;
 import dev.sora.itemcreator.core.ItemFactory;
+import dev.sora.itemcreator.core.ItemsFileWatcher;
 import dev.sora.itemcreator.core.RecipeRegistrar;
-import dev.sora.itemcreator.listeners.AbilityListener;
+import dev.sora.itemcreator.listeners.AbilityInteractHandler;
+import dev.sora.itemcreator.listeners.AsyncTabCompleteListener;
 import dev.sora.itemcreator.listeners.BlockListener;
-import dev.sora.itemcreator.listeners.BundleListener;
+import dev.sora.itemcreator.listeners.BundleInteractHandler;
+import dev.sora.itemcreator.listeners.InteractDispatcher;
+import dev.sora.itemcreator.listeners.PlayerSessionListener;
+import dev.sora.itemcreator.scheduling.PaperTaskScheduler;
+import dev.sora.itemcreator.scheduling.TaskScheduler;
 
 public final class ItemCreatorPlugin extends JavaPlugin {
+    private TaskScheduler tasks;
     private CustomItemRegistry registry;
     private ItemFactory itemFactory;
     private RecipeRegistrar recipeRegistrar;
     private AbilityManager abilityManager;
+    private CustomBlockStore blockStore;
     private BlockListener blockListener;
+    private CatalogReloader catalogReloader;
+    private ItemsFileWatcher fileWatcher;
 
     @Override
     public void onEnable() {
         saveDefaultConfig();
         saveResourceIfMissing("items.yml");
 
-        this.registry = new CustomItemRegistry(this);
+        this.tasks = new PaperTaskScheduler(this);
+        this.registry = new CustomItemRegistry(this, tasks);
         this.itemFactory = new ItemFactory(this, registry);
         this.recipeRegistrar = new RecipeRegistrar(this, registry, itemFactory);
-        this.abilityManager = new AbilityManager();
-        this.blockListener = new BlockListener(this, registry, itemFactory);
+        this.abilityManager = new AbilityManager(tasks, getLogger());
+        abilityManager.start(this);
+        this.blockStore = new CustomBlockStore(this);
+        this.blockListener = new BlockListener(this, registry, itemFactory, blockStore);
 
         // Set up ability manager in registry
         registry.setAbilityManager(abilityManager);
 
-        // Load items and recipes from items.yml
-        File itemsFile = new File(getDataFolder(), "items.yml");
-        FileConfiguration itemsCfg = YamlConfiguration.loadConfiguration(itemsFile);
-        registry.loadFromConfig(itemsCfg);
-        recipeRegistrar.registerAll(itemsCfg);
+        // Load items and recipes from items.yml and items/*.yml: parse off-thread, install on the main thread
+        this.catalogReloader = new CatalogReloader(this);
+        catalogReloader.getPacksDirectory().mkdirs();
+        catalogReloader.reloadAsync(null, true).whenComplete((report, error) -> {
+            if (error != null) {
+                getLogger().severe("Failed to load items: " + error.getMessage());
+                return;
+            }
+            if (report.fromCache()) {
+                getLogger().info("Loaded " + report.items() + " items from catalog cache (read "
+                        + report.readMillis() + "ms, decode " + report.compileMillis() + "ms, commit "
+                        + report.commitMillis() + "ms)");
+            } else {
+                getLogger().info("Loaded " + report.items() + " items from items.yml (read " + report.readMillis()
+                        + "ms, parse " + report.parseMillis() + "ms, compile " + report.compileMillis()
+                        + "ms, commit " + report.commitMillis() + "ms)");
+            }
+        });
+        restartFileWatcher();
 
         // Commands and listeners
         getCommand("giveitem").setExecutor(new GiveItemCommand(itemFactory));
-        getCommand("giveitem").setTabCompleter(new dev.sora.itemcreator.commands.GiveItemTabCompleter(registry));
-        getCommand("createrecipe").setExecutor(new CreateRecipeCommand(itemFactory, registry));
+        getCommand("giveitem").setTabCompleter(new GiveItemTabCompleter(registry));
+        getCommand("createrecipe").setExecutor(new CreateRecipeCommand(itemFactory, registry, tasks));
         getCommand("recipes").setExecutor(new dev.sora.itemcreator.commands.RecipesCommand(itemFactory));
         getCommand("itemcreator").setExecutor(new ReloadCommand(this));
         
         // New abilities command
         AbilitiesCommand abilitiesCommand = new AbilitiesCommand(itemFactory);
         getCommand("abilities").setExecutor(abilitiesCommand);
+        getCommand("abilities").setTabCompleter(new AbilitiesTabCompleter(registry));
+
+        // Item id completion is served off the main thread
+        AsyncTabCompleteListener asyncCompletion = new AsyncTabCompleteListener();
+        asyncCompletion.register(getCommand("giveitem"));
+        asyncCompletion.register(getCommand("abilities"));
+        getServer().getPluginManager().registerEvents(asyncCompletion, this);
         
-        getServer().getPluginManager().registerEvents(new BundleListener(registry, recipeRegistrar), this);
-        getServer().getPluginManager().registerEvents(new AbilityListener(registry, abilityManager), this);
+        // Bundles run before abilities, matching the old listener registration order
+        getServer().getPluginManager().registerEvents(new InteractDispatcher(registry, abilityManager.getRateLimiter(),
+                new BundleInteractHandler(recipeRegistrar),
+                new AbilityInteractHandler(abilityManager)), this);
         getServer().getPluginManager().registerEvents(blockListener, this);
+        // Chunks already loaded (e.g. after a plugin reload) won't fire ChunkLoadEvent; region-threaded
+        // servers enable plugins before any world loads
+        if (!tasks.isRegionThreaded()) {
+            blockStore.loadAll(getServer().getWorlds());
+        }
+        getServer().getPluginManager().registerEvents(new PlayerSessionListener(registry, abilityManager), this);
+    }
+
+    @Override
+    public void onDisable() {
+        if (fileWatcher != null) {
+            fileWatcher.stop();
+            fileWatcher = null;
+        }
+        CustomItemRegistry.shutdownCompilePool();
+    }
+
+    /**
+     * Start, stop or re-configure the items.yml watcher from config.yml
+     */
+    public void restartFileWatcher() {
+        if (fileWatcher != null) {
+            fileWatcher.stop();
+            fileWatcher = null;
+        }
+        if (!getConfig().getBoolean("auto-reload.enabled", false))
+            return;
+
+        ItemsFileWatcher watcher = new ItemsFileWatcher(this, getConfig().getLong("auto-reload.debounce-ms", 1000));
+        try {
+            watcher.start();
+            fileWatcher = watcher;
+        } catch (IOException e) {
+            getLogger().warning("Could not watch items.yml for changes: " + e.getMessage());
+        }
     }
 
     private void saveResourceIfMissing(String name) {
@@ -68,6 +142,13 @@ public final class ItemCreatorPlugin extends JavaPlugin {
         saveResource(name, false);
     }
 
+    /**
+     * Routes work to the global, region or entity scheduler
+     */
+    public TaskScheduler getTasks() {
+        return tasks;
+    }
+
     public CustomItemRegistry getRegistry() {
         return registry;
     }
@@ -87,4 +168,8 @@ public final class ItemCreatorPlugin extends JavaPlugin {
     public BlockListener getBlockListener() {
         return blockListener;
     }
+
+    public CatalogReloader getCatalogReloader() {
+        return catalogReloader;
+    }
 }
@@ -0,0 +1,51 @@
+package dev.sora.itemcreator.abilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * The configuration an ability was created from, kept so a compiled item can be
+ * written out and re-created without going back to YAML
+ *
+ * @param type   The ability type, as understood by {@link AbilityManager#createAbility}
+ * @param config Every setting of the ability except its type
+ */
+public record AbilityDefinition(String type, Map<String, Object> config) {
+
+    public AbilityDefinition {
+        config = Collections.unmodifiableMap(plain(config));
+    }
+
+    /**
+     * Copy with nested sections turned into plain maps, so a definition doesn't
+     * keep the YAML tree it was read from reachable and abilities see the same
+     * types whether the item came from YAML or the catalog cache
+     */
+    private static Map<String, Object> plain(Map<?, ?> values) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+            copy.put(String.valueOf(entry.getKey()), plainValue(entry.getValue()));
+        }
+        return copy;
+    }
+
+    private static Object plainValue(Object value) {
+        if (value instanceof ConfigurationSection section)
+            return plain(section.getValues(false));
+        if (value instanceof Map<?, ?> map)
+            return plain(map);
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object element : list) {
+                copy.add(plainValue(element));
+            }
+            return copy;
+        }
+        return value;
+    }
+}
@@ -4,23 +4,81 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+import dev.sora.itemcreator.core.CustomItem;
+import dev.sora.itemcreator.scheduling.TaskScheduler;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
 
 /**
  * Manages item abilities - registration, cooldowns, and execution
  */
 public class AbilityManager {
 
+    // Once a minute; quits normally evict right away, this catches any that were missed
+    private static final long CLEANUP_PERIOD_TICKS = 20L * 60;
+
     private final Map<String, ItemAbility> registeredAbilities = new HashMap<>();
-    private final Map<UUID, Map<String, Long>> playerCooldowns = new HashMap<>();
+    private final CooldownStore cooldowns = new CooldownStore();
+    private final TimingWheel<CooldownExpiry> cooldownWheel = new TimingWheel<>(this::onCooldownExpired);
+    // Shared by every flash-bang so the ray-trace budget is per tick, not per item
+    private final LineOfSight lineOfSight = new LineOfSight();
+    private final EffectEmitter effects = new EffectEmitter();
+    private final TriggerRateLimiter rateLimiter = new TriggerRateLimiter();
+    private final TaskScheduler tasks;
+    private final Logger logger;
+    private final AbilityScheduler scheduler;
+    // Written by /itemcreator reload, read when cooldowns expire
+    private volatile boolean readyActionBar = true;
+    private volatile boolean readySound = false;
+
+    public AbilityManager(TaskScheduler tasks, Logger logger) {
+        this.tasks = tasks;
+        this.logger = logger;
+        this.scheduler = new AbilityScheduler(tasks, logger);
 
-    public AbilityManager() {
         // Register built-in abilities
-        registerAbility("flashbang", config -> new FlashBangAbility(config));
+        registerAbility("flashbang", config -> new FlashBangAbility(config, lineOfSight, effects, scheduler));
+    }
+
+    /**
+     * The plugin logger, for problems found while compiling abilities
+     */
+    public Logger getLogger() {
+        return logger;
+    }
+
+    /**
+     * Start ticking the cooldown wheel and apply the plugin configuration
+     */
+    public void start(Plugin plugin) {
+        configure(plugin.getConfig());
+        tasks.runGlobalTimer(cooldownWheel::tick, 1L, 1L);
+        tasks.runGlobalTimer(scheduler::tick, 1L, 1L);
+        tasks.runGlobalTimer(this::cleanup, CLEANUP_PERIOD_TICKS, CLEANUP_PERIOD_TICKS);
+    }
+
+    /**
+     * Apply ability settings from config.yml
+     */
+    public void configure(ConfigurationSection config) {
+        this.readyActionBar = config.getBoolean("abilities.ready-feedback.action-bar", true);
+        this.readySound = config.getBoolean("abilities.ready-feedback.sound", false);
+        effects.configure(config);
+        scheduler.configure(config);
+        rateLimiter.configure(config);
+        lineOfSight.setMaxRaysPerTick(config.getInt("abilities.line-of-sight.max-ray-traces-per-tick", 64));
     }
 
     /**
@@ -37,15 +95,22 @@ public class AbilityManager {
      */
     public ItemAbility createAbility(String type, Map<String, Object> config) {
         if ("flashbang".equals(type)) {
-            return new FlashBangAbility(config);
+            return new FlashBangAbility(config, lineOfSight, effects, scheduler);
         } else if ("heal".equals(type)) {
-            return new HealAbility(config);
+            return new HealAbility(config, effects, scheduler);
         } else if ("teleport".equals(type)) {
-            return new TeleportAbility(config);
+            return new TeleportAbility(config, effects, scheduler);
         }
         return null;
     }
 
+    /**
+     * Whether {@link #createAbility} knows the given type
+     */
+    public boolean isAbilityType(String type) {
+        return "flashbang".equals(type) || "heal".equals(type) || "teleport".equals(type);
+    }
+
     /**
      * Execute abilities for an item
      */
@@ -57,22 +122,37 @@ public class AbilityManager {
                 continue;
             }
 
-            // Check cooldown
-            if (isOnCooldown(player, ability)) {
-                continue;
-            }
+            executeAbility(player, item, location, triggerEvent, ability);
+        }
+    }
+
+    /**
+     * Execute a custom item's abilities using its precompiled per-event table
+     */
+    public void executeAbilities(Player player, ItemStack item, Location location, Event triggerEvent,
+            CustomItem customItem) {
+        for (ItemAbility ability : customItem.abilitiesFor(triggerEvent.getClass())) {
+            executeAbility(player, item, location, triggerEvent, ability);
+        }
+    }
 
-            // Execute the ability
-            try {
-                ability.execute(player, item, location, triggerEvent);
+    private void executeAbility(Player player, ItemStack item, Location location, Event triggerEvent,
+            ItemAbility ability) {
+        // Check cooldown
+        if (isOnCooldown(player, ability)) {
+            return;
+        }
 
-                // Set cooldown
-                setCooldown(player, ability);
+        // Abilities hand their own effect-only work to the ability scheduler
+        try {
+            ability.execute(player, item, location, triggerEvent);
 
-            } catch (Exception e) {
-                player.sendMessage("§cAbility execution failed: " + e.getMessage());
-                e.printStackTrace();
-            }
+            // Set cooldown
+            setCooldown(player, ability);
+
+        } catch (Exception e) {
+            player.sendMessage("§cAbility execution failed: " + e.getMessage());
+            logger.log(Level.WARNING, "Ability " + ability.getType() + " failed for " + player.getName(), e);
         }
     }
 
@@ -80,15 +160,7 @@ public class AbilityManager {
      * Check if player is on cooldown for this ability
      */
     private boolean isOnCooldown(Player player, ItemAbility ability) {
-        Map<String, Long> cooldowns = playerCooldowns.get(player.getUniqueId());
-        if (cooldowns == null)
-            return false;
-
-        Long lastUsed = cooldowns.get(ability.getType());
-        if (lastUsed == null)
-            return false;
-
-        return System.currentTimeMillis() - lastUsed < ability.getCooldown();
+        return getRemainingCooldown(player, ability) > 0;
     }
 
     /**
@@ -98,29 +170,92 @@ public class AbilityManager {
         if (ability.getCooldown() <= 0)
             return;
 
-        playerCooldowns.computeIfAbsent(player.getUniqueId(), k -> new HashMap<>())
-                .put(ability.getType(), System.currentTimeMillis());
+        int ordinal = cooldowns.ordinal(ability.getType());
+        long now = System.currentTimeMillis();
+        cooldowns.setLastUsed(player.getUniqueId(), ordinal, now);
+
+        // One timer per use; 50ms per tick, rounded up so "ready" is never early
+        cooldownWheel.schedule((ability.getCooldown() + 49) / 50,
+                new CooldownExpiry(player.getUniqueId(), ordinal, now, ability.getType()));
+    }
+
+    private void onCooldownExpired(CooldownExpiry expiry) {
+        // Stale if the ability was used again since; that use has its own timer
+        if (cooldowns.getLastUsed(expiry.playerId(), expiry.ordinal()) != expiry.usedAt())
+            return;
+        if (!readyActionBar && !readySound)
+            return;
+
+        Player player = Bukkit.getPlayer(expiry.playerId());
+        if (player == null)
+            return;
+
+        // The wheel ticks on the global region; the player may be owned by another thread
+        tasks.runFor(player, () -> {
+            if (readyActionBar) {
+                player.sendActionBar(Component.text("✔ " + expiry.abilityType() + " ready", NamedTextColor.GREEN));
+            }
+            if (readySound) {
+                player.playSound(player.getLocation(), Sound.BLOCK_NOTE_BLOCK_PLING, 0.5f, 2.0f);
+            }
+        });
+    }
+
+    public LineOfSight getLineOfSight() {
+        return lineOfSight;
+    }
+
+    public EffectEmitter getEffects() {
+        return effects;
+    }
+
+    public AbilityScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public TriggerRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Number of cooldowns still waiting for their "ready" notification
+     */
+    public int getPendingCooldowns() {
+        return cooldownWheel.size();
     }
 
     /**
      * Get remaining cooldown time in milliseconds
      */
     public long getRemainingCooldown(Player player, ItemAbility ability) {
-        if (!isOnCooldown(player, ability))
+        long lastUsed = cooldowns.getLastUsed(player.getUniqueId(), cooldowns.ordinal(ability.getType()));
+        if (lastUsed == 0)
             return 0;
 
-        Map<String, Long> cooldowns = playerCooldowns.get(player.getUniqueId());
-        Long lastUsed = cooldowns.get(ability.getType());
+        return Math.max(0, ability.getCooldown() - (System.currentTimeMillis() - lastUsed));
+    }
 
-        return ability.getCooldown() - (System.currentTimeMillis() - lastUsed);
+    /**
+     * Forget all cooldowns and the trigger rate bucket of a player, e.g. when they leave
+     */
+    public void evictPlayer(UUID playerId) {
+        cooldowns.evict(playerId);
+        rateLimiter.evict(playerId);
     }
 
     /**
-     * Clean up cooldowns for offline players
+     * Clean up cooldowns and rate buckets of offline players. Runs periodically
+     * as a sweep behind the per-quit eviction.
      */
     public void cleanup() {
-        // This could be called periodically to clean up cooldowns for offline players
-        // For now, we'll keep it simple and let them persist
+        for (UUID playerId : List.copyOf(cooldowns.trackedPlayers())) {
+            if (Bukkit.getPlayer(playerId) == null) {
+                evictPlayer(playerId);
+            }
+        }
+    }
+
+    private record CooldownExpiry(UUID playerId, int ordinal, long usedAt, String abilityType) {
     }
 
     /**
@@ -0,0 +1,182 @@
+package dev.sora.itemcreator.abilities;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Entity;
+
+import dev.sora.itemcreator.scheduling.TaskScheduler;
+
+/**
+ * Runs deferrable ability work, such as effects and area scans, spread over
+ * ticks. Each tick drains the queue until the configured time budget is spent,
+ * so a burst of triggers in one tick is smoothed over the following ones
+ * instead of landing on a single tick. At least one task runs per tick so the
+ * queue always makes progress.
+ * <p>
+ * On a region-threaded server there is no single tick to budget, and work has
+ * to run on the thread owning what it touches, so tasks are handed straight
+ * to the entity or region scheduler of their anchor instead of being queued.
+ */
+public class AbilityScheduler {
+    private final TaskScheduler tasks;
+    private final Logger logger;
+    private final Queue<Queued> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicLong completedTasks = new AtomicLong();
+    private volatile long budgetNanos = 2_000_000;
+    private volatile long lastTickNanos;
+    private volatile int lastTickTasks;
+    private volatile double averageTickNanos;
+    private volatile int peakDepth;
+
+    public AbilityScheduler(TaskScheduler tasks, Logger logger) {
+        this.tasks = tasks;
+        this.logger = logger;
+    }
+
+    /**
+     * Apply the abilities.scheduler settings from config.yml
+     */
+    public void configure(ConfigurationSection config) {
+        double budgetMillis = config.getDouble("abilities.scheduler.budget-ms", 2.0);
+        this.budgetNanos = (long) (Math.max(0.1, budgetMillis) * 1_000_000);
+    }
+
+    /**
+     * The scheduler used to route work that can't wait for the budget
+     */
+    public TaskScheduler tasks() {
+        return tasks;
+    }
+
+    /**
+     * Queue work that concerns an entity, e.g. the player who used the ability
+     */
+    public void submit(Entity anchor, Runnable task) {
+        if (tasks.isRegionThreaded()) {
+            tasks.runFor(anchor, () -> run(anchor, task));
+        } else {
+            enqueue(new Queued(anchor, task));
+        }
+    }
+
+    /**
+     * Queue work that concerns a location, e.g. an area effect
+     */
+    public void submit(Location anchor, Runnable task) {
+        if (tasks.isRegionThreaded()) {
+            tasks.runAt(anchor, () -> run(anchor, task));
+        } else {
+            enqueue(new Queued(anchor, task));
+        }
+    }
+
+    private void enqueue(Queued task) {
+        queue.add(task);
+        int size = depth.incrementAndGet();
+        if (size > peakDepth) {
+            peakDepth = size;
+        }
+    }
+
+    /**
+     * Drain queued work until the budget is spent. Called once per tick.
+     */
+    public void tick() {
+        if (queue.isEmpty()) {
+            lastTickNanos = 0;
+            lastTickTasks = 0;
+            return;
+        }
+
+        long start = System.nanoTime();
+        long budget = budgetNanos;
+        long elapsed = 0;
+        int ran = 0;
+        Queued task;
+        while ((ran == 0 || elapsed < budget) && (task = queue.poll()) != null) {
+            depth.decrementAndGet();
+            run(task.anchor(), task.task());
+            ran++;
+            elapsed = System.nanoTime() - start;
+        }
+
+        lastTickNanos = elapsed;
+        lastTickTasks = ran;
+        completedTasks.addAndGet(ran);
+        // Smoothed over roughly the last 20 busy ticks
+        double average = averageTickNanos;
+        averageTickNanos = average == 0 ? elapsed : average * 0.95 + elapsed * 0.05;
+    }
+
+    /**
+     * Run one task; a failure is logged with what it was anchored to and
+     * doesn't stop the rest of the queue
+     */
+    private void run(Object anchor, Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Ability task for " + describe(anchor) + " failed", e);
+        }
+    }
+
+    private static String describe(Object anchor) {
+        if (anchor instanceof Entity entity)
+            return entity.getName();
+        if (anchor instanceof Location location)
+            return (location.getWorld() != null ? location.getWorld().getName() : "?") + " "
+                    + location.getBlockX() + "," + location.getBlockY() + "," + location.getBlockZ();
+        return "unknown anchor";
+    }
+
+    /**
+     * Tasks waiting to run
+     */
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    /**
+     * Largest queue depth seen since startup
+     */
+    public int getPeakDepth() {
+        return peakDepth;
+    }
+
+    /**
+     * Time spent running tasks in the last tick, in nanoseconds
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public int getLastTickTasks() {
+        return lastTickTasks;
+    }
+
+    /**
+     * Average time per tick that had queued work, in nanoseconds
+     */
+    public double getAverageTickNanos() {
+        return averageTickNanos;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks.get();
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    private record Queued(Object anchor, Runnable task) {
+    }
+}
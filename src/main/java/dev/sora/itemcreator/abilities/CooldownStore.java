@@ -0,0 +1,166 @@
+package dev.sora.itemcreator.abilities;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cooldown timestamps for every online player and ability type.
+ *
+ * Each player is assigned a compact slot while tracked and each ability type an
+ * interned ordinal; timestamps live in primitive long rows indexed by ordinal.
+ * Slots are spread over lock stripes so reads from async threads are safe
+ * without serialising all players behind one lock.
+ * <p>
+ * A slot freed by eviction is handed to the next new player. Each allocation
+ * gets a fresh generation that its row is stamped with, so a reader still
+ * holding the evicted player's slot sees a mismatch and reads nothing instead
+ * of the new owner's row.
+ */
+public class CooldownStore {
+    private static final int STRIPES = 16;
+
+    private final Map<UUID, Slot> slots = new ConcurrentHashMap<>();
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private final AtomicInteger nextOrdinal = new AtomicInteger();
+    private final AtomicLong nextGeneration = new AtomicLong(1);
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    // Slot allocation, guarded by itself
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int nextSlot;
+
+    public CooldownStore() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Get the interned ordinal for an ability type, assigning one on first use
+     */
+    public int ordinal(String abilityType) {
+        Integer ordinal = ordinals.get(abilityType);
+        if (ordinal != null)
+            return ordinal;
+        return ordinals.computeIfAbsent(abilityType, k -> nextOrdinal.getAndIncrement());
+    }
+
+    /**
+     * Get when the player last used the ability, or 0 if never (or evicted)
+     */
+    public long getLastUsed(UUID player, int ordinal) {
+        Slot slot = slots.get(player);
+        if (slot == null)
+            return 0;
+        Stripe stripe = stripes[slot.index() % STRIPES];
+        synchronized (stripe) {
+            long[] row = stripe.row(slot.index() / STRIPES, slot.generation());
+            return row != null && ordinal < row.length ? row[ordinal] : 0;
+        }
+    }
+
+    /**
+     * Record that the player used the ability at the given time
+     */
+    public void setLastUsed(UUID player, int ordinal, long timestamp) {
+        Slot slot = slots.computeIfAbsent(player, k -> allocateSlot());
+        Stripe stripe = stripes[slot.index() % STRIPES];
+        synchronized (stripe) {
+            // The player may have been evicted between slot lookup and locking
+            if (slots.get(player) != slot)
+                return;
+            stripe.ensureRow(slot.index() / STRIPES, slot.generation(), ordinal + 1)[ordinal] = timestamp;
+        }
+    }
+
+    /**
+     * Drop every cooldown of a player and release their slot
+     */
+    public void evict(UUID player) {
+        Slot slot;
+        Stripe stripe;
+        do {
+            slot = slots.get(player);
+            if (slot == null)
+                return;
+            stripe = stripes[slot.index() % STRIPES];
+            synchronized (stripe) {
+                if (slots.remove(player, slot)) {
+                    stripe.clearRow(slot.index() / STRIPES);
+                    break;
+                }
+            }
+        } while (true);
+        synchronized (freeSlots) {
+            freeSlots.push(slot.index());
+        }
+    }
+
+    /**
+     * Players that currently hold a slot
+     */
+    public Set<UUID> trackedPlayers() {
+        return slots.keySet();
+    }
+
+    private Slot allocateSlot() {
+        int index;
+        synchronized (freeSlots) {
+            Integer free = freeSlots.poll();
+            index = free != null ? free : nextSlot++;
+        }
+        return new Slot(index, nextGeneration.getAndIncrement());
+    }
+
+    /**
+     * A player's row position and the allocation it belongs to
+     */
+    private record Slot(int index, long generation) {
+    }
+
+    /**
+     * Rows for the slots that map to one lock stripe; all access holds the stripe's monitor
+     */
+    private static final class Stripe {
+        private long[][] rows = new long[4][];
+        // Generation of the slot each row was written for; 0 when the row is empty
+        private long[] owners = new long[4];
+
+        long[] row(int index, long generation) {
+            return index < rows.length && owners[index] == generation ? rows[index] : null;
+        }
+
+        long[] ensureRow(int index, long generation, int minLength) {
+            if (index >= rows.length) {
+                int length = Math.max(rows.length * 2, index + 1);
+                rows = Arrays.copyOf(rows, length);
+                owners = Arrays.copyOf(owners, length);
+            }
+            if (owners[index] != generation) {
+                rows[index] = null;
+                owners[index] = generation;
+            }
+            long[] row = rows[index];
+            if (row == null || row.length < minLength) {
+                row = row == null ? new long[Math.max(8, minLength)]
+                        : Arrays.copyOf(row, Math.max(row.length * 2, minLength));
+                rows[index] = row;
+            }
+            return row;
+        }
+
+        void clearRow(int index) {
+            if (index < rows.length) {
+                rows[index] = null;
+                owners[index] = 0;
+            }
+        }
+    }
+}
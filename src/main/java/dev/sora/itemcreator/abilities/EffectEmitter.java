@@ -0,0 +1,120 @@
+package dev.sora.itemcreator.abilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+
+/**
+ * Sends ability particles and sounds only to players who can plausibly notice
+ * them, instead of broadcasting to every nearby client. Particles go to players
+ * in view range who are close by or roughly facing the effect, and their count
+ * is scaled down as more viewers crowd around, so a busy PvP area costs fewer
+ * packets per effect. Every particle burst is one packet per receiver.
+ */
+public class EffectEmitter {
+    // Viewers this close always get the effect, whichever way they face
+    private static final double NEAR_DISTANCE_SQUARED = 4 * 4;
+    // cos(50 degrees): a cone of roughly 100 degrees in total around the view direction
+    private static final double MIN_FACING_DOT = 0.64;
+
+    private final LongAdder particlesRequested = new LongAdder();
+    private final LongAdder particlesSent = new LongAdder();
+    private volatile double viewDistance = 32;
+    private volatile int fullDetailViewers = 8;
+    private volatile double minScale = 0.25;
+
+    /**
+     * Apply the abilities.effects settings from config.yml
+     */
+    public void configure(ConfigurationSection config) {
+        this.viewDistance = Math.max(1, config.getDouble("abilities.effects.view-distance", 32));
+        this.fullDetailViewers = Math.max(1, config.getInt("abilities.effects.full-detail-viewers", 8));
+        this.minScale = Math.max(0, Math.min(1, config.getDouble("abilities.effects.min-particle-scale", 0.25)));
+    }
+
+    public void particle(Particle particle, Location location, int count, double offsetX, double offsetY,
+            double offsetZ, double extra) {
+        particle(particle, location, count, offsetX, offsetY, offsetZ, extra, null);
+    }
+
+    /**
+     * Spawn particles for the players who can see the location, with the count
+     * scaled by how many of them there are
+     */
+    public <T> void particle(Particle particle, Location location, int count, double offsetX, double offsetY,
+            double offsetZ, double extra, T data) {
+        List<Player> viewers = viewers(location);
+        particlesRequested.add(count);
+        if (viewers.isEmpty())
+            return;
+
+        int scaled = scaledCount(count, viewers.size());
+        particlesSent.add((long) scaled * viewers.size());
+        particle.builder()
+                .location(location)
+                .count(scaled)
+                .offset(offsetX, offsetY, offsetZ)
+                .extra(extra)
+                .data(data)
+                // The builder forces long-distance display by default; World#spawnParticle didn't
+                .force(false)
+                .receivers(viewers)
+                .spawn();
+    }
+
+    /**
+     * Play a sound to the players within its audible range
+     */
+    public void sound(Location location, Sound sound, float volume, float pitch) {
+        // Sounds carry 16 blocks per unit of volume
+        for (Player player : SpatialQuery.playersWithin(location, Math.max(1.0f, volume) * 16)) {
+            player.playSound(location, sound, volume, pitch);
+        }
+    }
+
+    /**
+     * Players in view range who are close or facing the location
+     */
+    private List<Player> viewers(Location location) {
+        List<Player> nearby = SpatialQuery.playersWithin(location, viewDistance);
+        List<Player> viewers = new ArrayList<>(nearby.size());
+        for (Player player : nearby) {
+            Location eye = player.getEyeLocation();
+            Vector toEffect = location.toVector().subtract(eye.toVector());
+            double distanceSquared = toEffect.lengthSquared();
+            if (distanceSquared <= NEAR_DISTANCE_SQUARED
+                    || eye.getDirection().dot(toEffect) >= MIN_FACING_DOT * Math.sqrt(distanceSquared)) {
+                viewers.add(player);
+            }
+        }
+        return viewers;
+    }
+
+    private int scaledCount(int count, int viewers) {
+        if (count <= 1 || viewers <= fullDetailViewers)
+            return count;
+        double scale = Math.max(minScale, (double) fullDetailViewers / viewers);
+        return Math.max(1, (int) Math.round(count * scale));
+    }
+
+    /**
+     * Particles abilities asked for, before culling and scaling
+     */
+    public long getParticlesRequested() {
+        return particlesRequested.sum();
+    }
+
+    /**
+     * Particles actually sent, summed over all receivers
+     */
+    public long getParticlesSent() {
+        return particlesSent.sum();
+    }
+}
@@ -2,7 +2,6 @@ package dev.sora.itemcreator.abilities;
 
 import java.util.Map;
 
-import org.bukkit.Bukkit;
 import org.bukkit.Color;
 import org.bukkit.Location;
 import org.bukkit.Particle;
@@ -11,10 +10,14 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.util.Vector;
 
+import dev.sora.itemcreator.scheduling.PaperTaskScheduler;
+import dev.sora.itemcreator.scheduling.TaskScheduler;
+
 /**
  * Flash-bang ability - creates a bright flash that blinds players looking at it
  */
@@ -23,8 +26,28 @@ public class FlashBangAbility implements ItemAbility {
     private final double range;
     private final int blindnessDuration; // in ticks
     private final long cooldown; // in milliseconds
+    private final LineOfSight lineOfSight;
+    private final EffectEmitter effects;
+    private final AbilityScheduler scheduler;
+    // Delayed and per-player work; always present so the flash keeps its delay without a scheduler
+    private final TaskScheduler tasks;
 
     public FlashBangAbility(Map<String, Object> config) {
+        this(config, new LineOfSight(), new EffectEmitter(), null,
+                new PaperTaskScheduler(JavaPlugin.getProvidingPlugin(FlashBangAbility.class)));
+    }
+
+    public FlashBangAbility(Map<String, Object> config, LineOfSight lineOfSight, EffectEmitter effects,
+            AbilityScheduler scheduler) {
+        this(config, lineOfSight, effects, scheduler, scheduler.tasks());
+    }
+
+    private FlashBangAbility(Map<String, Object> config, LineOfSight lineOfSight, EffectEmitter effects,
+            AbilityScheduler scheduler, TaskScheduler tasks) {
+        this.lineOfSight = lineOfSight;
+        this.effects = effects;
+        this.scheduler = scheduler;
+        this.tasks = tasks;
         // User-friendly configuration with smart defaults
         this.range = ((Number) config.getOrDefault("range", 10.0)).doubleValue();
 
@@ -44,34 +67,11 @@ public class FlashBangAbility implements ItemAbility {
 
     @Override
     public void execute(Player player, ItemStack item, Location location, Event triggerEvent) {
-        // Create flash effect at the location
-        createFlashEffect(location);
-
-        // Find players in range and check if they're looking at the flash
-        for (Player nearbyPlayer : location.getWorld().getPlayers()) {
-            if (nearbyPlayer.getLocation().distance(location) <= range) {
-                if (isPlayerLookingAt(nearbyPlayer, location)) {
-                    // Apply blindness effect
-                    nearbyPlayer.addPotionEffect(new PotionEffect(
-                            PotionEffectType.BLINDNESS,
-                            blindnessDuration,
-                            0,
-                            false,
-                            true,
-                            true));
-
-                    // Add nausea for extra disorientation
-                    nearbyPlayer.addPotionEffect(new PotionEffect(
-                            PotionEffectType.NAUSEA,
-                            blindnessDuration / 2,
-                            0,
-                            false,
-                            true,
-                            true));
-
-                    nearbyPlayer.sendMessage("§c§lFLASH! You are temporarily blinded!");
-                }
-            }
+        // The item is consumed right away; the flash and area scan may wait for a quieter tick
+        if (scheduler != null) {
+            scheduler.submit(location, () -> detonate(location));
+        } else {
+            detonate(location);
         }
 
         // Remove the item (it's consumed)
@@ -82,6 +82,40 @@ public class FlashBangAbility implements ItemAbility {
         }
     }
 
+    private void detonate(Location location) {
+        // Create flash effect at the location
+        createFlashEffect(location);
+
+        // Find players in range who are looking at the flash; the ray trace runs last
+        for (Player nearbyPlayer : SpatialQuery.playersWithin(location, range)) {
+            if (isPlayerLookingAt(nearbyPlayer, location) && lineOfSight.canSee(nearbyPlayer, location)) {
+                tasks.runFor(nearbyPlayer, () -> blind(nearbyPlayer));
+            }
+        }
+    }
+
+    private void blind(Player player) {
+        // Apply blindness effect
+        player.addPotionEffect(new PotionEffect(
+                PotionEffectType.BLINDNESS,
+                blindnessDuration,
+                0,
+                false,
+                true,
+                true));
+
+        // Add nausea for extra disorientation
+        player.addPotionEffect(new PotionEffect(
+                PotionEffectType.NAUSEA,
+                blindnessDuration / 2,
+                0,
+                false,
+                true,
+                true));
+
+        player.sendMessage("§c§lFLASH! You are temporarily blinded!");
+    }
+
     @Override
     public boolean canTrigger(Class<? extends Event> eventClass) {
         return PlayerInteractEvent.class.isAssignableFrom(eventClass);
@@ -94,7 +128,7 @@ public class FlashBangAbility implements ItemAbility {
 
     private void createFlashEffect(Location location) {
         // Create bright white particle explosion
-        location.getWorld().spawnParticle(
+        effects.particle(
                 Particle.EXPLOSION,
                 location,
                 3,
@@ -102,7 +136,7 @@ public class FlashBangAbility implements ItemAbility {
                 0.1);
 
         // Create white firework particles for flash effect
-        location.getWorld().spawnParticle(
+        effects.particle(
                 Particle.FIREWORK,
                 location,
                 50,
@@ -111,7 +145,7 @@ public class FlashBangAbility implements ItemAbility {
 
         // Create white colored particles
         Particle.DustOptions dustOptions = new Particle.DustOptions(Color.WHITE, 2.0f);
-        location.getWorld().spawnParticle(
+        effects.particle(
                 Particle.DUST,
                 location,
                 100,
@@ -120,30 +154,25 @@ public class FlashBangAbility implements ItemAbility {
                 dustOptions);
 
         // Play sound effects
-        location.getWorld().playSound(location, Sound.ENTITY_GENERIC_EXPLODE, 1.0f, 1.5f);
-        location.getWorld().playSound(location, Sound.ENTITY_FIREWORK_ROCKET_BLAST, 1.0f, 0.8f);
-
-        // Schedule a delayed bright flash particle burst
-        Bukkit.getScheduler().runTaskLater(
-                Bukkit.getPluginManager().getPlugin("ItemCreator"),
-                () -> {
-                    location.getWorld().spawnParticle(
-                            Particle.FLASH,
-                            location,
-                            1);
-                },
-                2L);
+        effects.sound(location, Sound.ENTITY_GENERIC_EXPLODE, 1.0f, 1.5f);
+        effects.sound(location, Sound.ENTITY_FIREWORK_ROCKET_BLAST, 1.0f, 0.8f);
+
+        // Schedule a delayed bright flash particle burst, on the thread owning the location
+        Runnable flash = () -> effects.particle(
+                Particle.FLASH,
+                location,
+                1,
+                0, 0, 0,
+                0);
+        tasks.runAtLater(location, flash, 2L);
     }
 
     private boolean isPlayerLookingAt(Player player, Location target) {
-        Vector playerDirection = player.getEyeLocation().getDirection().normalize();
-        Vector toTarget = target.toVector().subtract(player.getEyeLocation().toVector()).normalize();
-
-        // Calculate the angle between player's view direction and target
-        double dot = playerDirection.dot(toTarget);
-        double angle = Math.acos(Math.max(-1.0, Math.min(1.0, dot)));
+        Location eye = player.getEyeLocation();
+        Vector playerDirection = eye.getDirection().normalize();
+        Vector toTarget = target.toVector().subtract(eye.toVector()).normalize();
 
-        // Consider player "looking at" if within 60 degrees (π/3 radians)
-        return angle < Math.PI / 3;
+        // Consider player "looking at" if within 60 degrees; cos(60°) = 0.5, so no acos needed
+        return playerDirection.dot(toTarget) > 0.5;
     }
 }
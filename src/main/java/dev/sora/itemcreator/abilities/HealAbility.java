@@ -16,8 +16,16 @@ public class HealAbility implements ItemAbility {
 
     private final double healAmount;
     private final long cooldown;
+    private final EffectEmitter effects;
+    private final AbilityScheduler scheduler;
 
     public HealAbility(Map<String, Object> config) {
+        this(config, new EffectEmitter(), null);
+    }
+
+    public HealAbility(Map<String, Object> config, EffectEmitter effects, AbilityScheduler scheduler) {
+        this.effects = effects;
+        this.scheduler = scheduler;
         // User-friendly configuration
         this.healAmount = ((Number) config.getOrDefault("heal", 4.0)).doubleValue(); // 2 hearts default
         this.cooldown = ((Number) config.getOrDefault("cooldown", 10)).longValue() * 1000; // 10 seconds default
@@ -35,21 +43,30 @@ public class HealAbility implements ItemAbility {
         double maxHealth = player.getAttribute(org.bukkit.attribute.Attribute.GENERIC_MAX_HEALTH).getValue();
         double newHealth = Math.min(currentHealth + healAmount, maxHealth);
 
-        // Apply healing
+        // Apply healing right away; only the effects can wait for the tick budget
         player.setHealth(newHealth);
 
-        // Visual and audio effects
-        player.getWorld().spawnParticle(Particle.HEART,
-                player.getLocation().add(0, 1, 0),
-                10, 0.5, 0.5, 0.5, 0.1);
-
-        player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 0.5f, 1.5f);
+        if (scheduler != null) {
+            scheduler.submit(player, () -> playEffects(player));
+        } else {
+            playEffects(player);
+        }
 
         // Send feedback to player
         double heartsHealed = healAmount / 2;
         player.sendMessage("§a✚ Healed " + heartsHealed + " hearts!");
     }
 
+    private void playEffects(Player player) {
+        if (!player.isValid())
+            return;
+        effects.particle(Particle.HEART,
+                player.getLocation().add(0, 1, 0),
+                10, 0.5, 0.5, 0.5, 0.1);
+
+        player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 0.5f, 1.5f);
+    }
+
     @Override
     public boolean canTrigger(Class<? extends Event> eventClass) {
         // Respond to player interaction events
@@ -39,4 +39,4 @@ public interface ItemAbility {
      * @return cooldown in ms, or 0 for no cooldown
      */
     long getCooldown();
-}
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package dev.sora.itemcreator.abilities;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bukkit.FluidCollisionMode;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+
+/**
+ * Occlusion checks for effects that need a clear view, with a bounded cost.
+ * At most a configured number of block ray traces run per tick, shared by all
+ * callers. Results are cached for a few ticks per detonation block and viewer
+ * eye block, so several crates going off in one spot reuse the same rays.
+ * Once the tick's budget is spent, a viewer gets the last known result for
+ * the same spot if it is at most a few seconds old, and is otherwise treated
+ * as not having line of sight, so load never lets a flash through walls.
+ * Ticks are measured as 50ms windows of wall time, so the budget also holds
+ * when several region threads detonate flash-bangs at once.
+ */
+public class LineOfSight {
+    private static final int CACHE_TICKS = 10;
+    // Older results are only used when the budget is spent, and dropped after this
+    private static final int STALE_TICKS = 100;
+    // Viewers this close to the target are never occluded; skips the ray
+    private static final double ALWAYS_VISIBLE_DISTANCE_SQUARED = 1.5 * 1.5;
+
+    private static final long TICK_NANOS = 50_000_000;
+
+    private final Map<Key, Cached> cache = new ConcurrentHashMap<>();
+    private final AtomicLong tick = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicInteger raysThisTick = new AtomicInteger();
+    private final LongAdder rayTraces = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private volatile int maxRaysPerTick = 64;
+
+    public void setMaxRaysPerTick(int maxRaysPerTick) {
+        this.maxRaysPerTick = Math.max(0, maxRaysPerTick);
+    }
+
+    /**
+     * Whether no solid block lies between the viewer's eyes and the target
+     */
+    public boolean canSee(Player viewer, Location target) {
+        World world = target.getWorld();
+        Location eye = viewer.getEyeLocation();
+        if (world == null || !world.equals(eye.getWorld()))
+            return false;
+        if (eye.distanceSquared(target) <= ALWAYS_VISIBLE_DISTANCE_SQUARED)
+            return true;
+
+        long now = advanceTick();
+        Key key = new Key(world.getUID(), target.getBlockX(), target.getBlockY(), target.getBlockZ(),
+                viewer.getUniqueId(), eye.getBlockX(), eye.getBlockY(), eye.getBlockZ());
+        Cached cached = cache.get(key);
+        if (cached != null && now - cached.tick() < CACHE_TICKS) {
+            cacheHits.increment();
+            return cached.visible();
+        }
+        if (raysThisTick.incrementAndGet() > maxRaysPerTick) {
+            budgetExhausted.increment();
+            return cached != null && cached.visible();
+        }
+
+        rayTraces.increment();
+        Vector toTarget = target.toVector().subtract(eye.toVector());
+        // Stop just short of the target so the block it rests on doesn't count
+        double distance = toTarget.length() - 0.25;
+        boolean visible = world.rayTraceBlocks(eye, toTarget.normalize(), distance,
+                FluidCollisionMode.NEVER, true) == null;
+        cache.put(key, new Cached(visible, now));
+        return visible;
+    }
+
+    /**
+     * Start a new budget when the tick window changes; only the thread that
+     * moves the window resets the budget and purges old results
+     */
+    private long advanceTick() {
+        long now = System.nanoTime() / TICK_NANOS;
+        long previous = tick.get();
+        if (now != previous && tick.compareAndSet(previous, now)) {
+            raysThisTick.set(0);
+            cache.values().removeIf(cached -> now - cached.tick() >= STALE_TICKS);
+        }
+        return now;
+    }
+
+    /**
+     * Number of ray traces run since startup
+     */
+    public long getRayTraces() {
+        return rayTraces.sum();
+    }
+
+    /**
+     * Number of checks answered without a ray because the tick's budget was
+     * spent, from a stale result or as not visible
+     */
+    public long getBudgetExhausted() {
+        return budgetExhausted.sum();
+    }
+
+    /**
+     * Number of checks answered from the cache
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    private record Key(UUID world, int x, int y, int z, UUID viewer, int eyeX, int eyeY, int eyeZ) {
+    }
+
+    private record Cached(boolean visible, long tick) {
+    }
+}
@@ -0,0 +1,58 @@
+package dev.sora.itemcreator.abilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+/**
+ * Radius queries for area-effect abilities. Candidates come from the server's
+ * entity lookup, which only visits the chunk sections overlapping the query
+ * box, so the cost scales with the entities near the center rather than with
+ * everyone in the world. Candidates are then narrowed to the sphere with
+ * squared distances, without a square root per entity.
+ */
+public final class SpatialQuery {
+
+    private SpatialQuery() {
+    }
+
+    /**
+     * Players whose feet are within the radius of the center
+     */
+    public static List<Player> playersWithin(Location center, double radius) {
+        return entitiesWithin(center, radius, Player.class);
+    }
+
+    /**
+     * Entities of the given type whose position is within the radius of the center
+     */
+    public static <T extends Entity> List<T> entitiesWithin(Location center, double radius, Class<T> type) {
+        World world = center.getWorld();
+        if (world == null || radius <= 0)
+            return List.of();
+
+        Collection<T> candidates = world.getNearbyEntitiesByType(type, center, radius);
+        List<T> result = new ArrayList<>(candidates.size());
+        double radiusSquared = radius * radius;
+        double cx = center.getX();
+        double cy = center.getY();
+        double cz = center.getZ();
+        // Reused for every candidate instead of allocating a Location each
+        Location position = new Location(world, 0, 0, 0);
+        for (T entity : candidates) {
+            entity.getLocation(position);
+            double dx = position.getX() - cx;
+            double dy = position.getY() - cy;
+            double dz = position.getZ() - cz;
+            if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+}
@@ -2,22 +2,34 @@ package dev.sora.itemcreator.abilities;
 
 import java.util.Map;
 
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.inventory.ItemStack;
 
 /**
- * Teleport ability - teleports player forward in the direction they're looking
+ * Teleport ability - teleports player forward in the direction they're looking.
+ * The destination chunk is loaded asynchronously and the player moved with an
+ * async teleport, so a long-range teleport never stalls the main thread.
  */
 public class TeleportAbility implements ItemAbility {
 
     private final double distance;
     private final long cooldown;
+    private final EffectEmitter effects;
+    private final AbilityScheduler scheduler;
 
     public TeleportAbility(Map<String, Object> config) {
+        this(config, new EffectEmitter(), null);
+    }
+
+    public TeleportAbility(Map<String, Object> config, EffectEmitter effects, AbilityScheduler scheduler) {
+        this.effects = effects;
+        this.scheduler = scheduler;
         // User-friendly configuration
         this.distance = ((Number) config.getOrDefault("distance", 5.0)).doubleValue(); // 5 blocks default
         this.cooldown = ((Number) config.getOrDefault("cooldown", 5)).longValue() * 1000; // 5 seconds default
@@ -32,27 +44,37 @@ public class TeleportAbility implements ItemAbility {
     public void execute(Player player, ItemStack item, Location location, Event triggerEvent) {
         // Calculate teleport destination
         Location destination = player.getLocation().add(player.getLocation().getDirection().multiply(distance));
-
-        // Find safe landing spot (check for solid blocks below)
-        destination = findSafeLanding(destination);
+        World world = destination.getWorld();
 
         // Teleport effects at start location
-        player.getWorld().spawnParticle(Particle.PORTAL,
+        effects.particle(Particle.PORTAL,
                 player.getLocation().add(0, 1, 0),
                 50, 0.5, 1, 0.5, 0.1);
         player.playSound(player.getLocation(), Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f);
 
-        // Teleport player
-        player.teleport(destination);
-
-        // Teleport effects at destination
-        player.getWorld().spawnParticle(Particle.PORTAL,
-                destination.add(0, 1, 0),
-                50, 0.5, 1, 0.5, 0.1);
-        player.playSound(destination, Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.2f);
-
-        // Send feedback
-        player.sendMessage("§d✦ Teleported " + String.format("%.1f", distance) + " blocks!");
+        // Load the target chunk without blocking, then find the landing spot in a snapshot of it
+        // Callbacks may complete on the thread owning the chunk, so hop back to the player's
+        world.getChunkAtAsync(destination).thenAccept(chunk -> {
+            Location landing = findSafeLanding(chunk.getChunkSnapshot(false, false, false), destination);
+            onPlayerThread(player, () -> {
+                if (!player.isValid() || !world.equals(player.getWorld()))
+                    return;
+                player.teleportAsync(landing).thenAccept(success -> {
+                    if (!success)
+                        return;
+                    onPlayerThread(player, () -> {
+                        // Teleport effects at destination
+                        effects.particle(Particle.PORTAL,
+                                landing.clone().add(0, 1, 0),
+                                50, 0.5, 1, 0.5, 0.1);
+                        player.playSound(landing, Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.2f);
+
+                        // Send feedback
+                        player.sendMessage("§d✦ Teleported " + String.format("%.1f", distance) + " blocks!");
+                    });
+                });
+            });
+        });
     }
 
     @Override
@@ -65,22 +87,40 @@ public class TeleportAbility implements ItemAbility {
         return cooldown;
     }
 
+    private void onPlayerThread(Player player, Runnable task) {
+        if (scheduler != null) {
+            scheduler.tasks().runFor(player, task);
+        } else {
+            task.run();
+        }
+    }
+
     /**
-     * Find a safe landing spot by adjusting Y coordinate
+     * Find a safe landing spot by adjusting Y coordinate: the first solid block
+     * within 10 blocks below the destination with two free blocks above it
      */
-    private Location findSafeLanding(Location loc) {
-        Location safe = loc.clone();
+    private Location findSafeLanding(ChunkSnapshot chunk, Location loc) {
+        World world = loc.getWorld();
+        int x = loc.getBlockX() & 15;
+        int z = loc.getBlockZ() & 15;
+        int top = loc.getBlockY();
+        int minY = world.getMinHeight();
+        int maxY = world.getMaxHeight() - 1;
 
         // Check if destination is safe (not in wall, has ground below)
-        for (int y = 0; y < 10; y++) {
-            Location check = safe.clone().add(0, -y, 0);
-            if (check.getBlock().getType().isSolid() &&
-                    !check.clone().add(0, 1, 0).getBlock().getType().isSolid() &&
-                    !check.clone().add(0, 2, 0).getBlock().getType().isSolid()) {
-                return check.add(0, 1, 0); // Stand on top of solid block
+        for (int y = top; y > top - 10; y--) {
+            if (y < minY || y + 2 > maxY)
+                continue;
+            if (chunk.getBlockType(x, y, z).isSolid() &&
+                    !chunk.getBlockType(x, y + 1, z).isSolid() &&
+                    !chunk.getBlockType(x, y + 2, z).isSolid()) {
+                // Stand on top of solid block
+                Location safe = loc.clone();
+                safe.setY(safe.getY() - (top - y) + 1);
+                return safe;
             }
         }
 
-        return safe; // Return original if no safe spot found
+        return loc; // Return original if no safe spot found
     }
 }
@@ -0,0 +1,102 @@
+package dev.sora.itemcreator.abilities;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel measured in server ticks.
+ *
+ * Four levels of 64 slots cover 64^4 ticks (about nine days); longer delays
+ * are parked on the top level and re-placed when it cascades. Scheduling is
+ * O(1) and each tick only touches the slots that are due, so cost per tick
+ * doesn't depend on how many timers are pending. Expired entries are unlinked
+ * as they fire, nothing is ever scanned.
+ */
+public class TimingWheel<T> {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+
+    private final Entry<T>[][] wheels;
+    private final Consumer<T> onExpire;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(Consumer<T> onExpire) {
+        this.onExpire = onExpire;
+        this.wheels = new Entry[LEVELS][WHEEL_SIZE];
+    }
+
+    /**
+     * Fire the payload once, after the given number of ticks (at least one)
+     */
+    public synchronized void schedule(long delayTicks, T payload) {
+        place(new Entry<>(currentTick + Math.max(1, delayTicks), payload));
+        size++;
+    }
+
+    /**
+     * Advance the wheel by one tick and fire everything that became due
+     */
+    public void tick() {
+        Entry<T> due;
+        synchronized (this) {
+            currentTick++;
+            // Cascade higher levels first so their entries can land in this tick's slot
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                    int index = (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+                    Entry<T> entry = wheels[level][index];
+                    wheels[level][index] = null;
+                    while (entry != null) {
+                        Entry<T> next = entry.next;
+                        place(entry);
+                        entry = next;
+                    }
+                }
+            }
+            int index = (int) (currentTick & WHEEL_MASK);
+            due = wheels[0][index];
+            wheels[0][index] = null;
+            for (Entry<T> entry = due; entry != null; entry = entry.next) {
+                size--;
+            }
+        }
+
+        // Fire outside the lock so callbacks may schedule new timers
+        while (due != null) {
+            onExpire.accept(due.payload);
+            due = due.next;
+        }
+    }
+
+    /**
+     * Number of timers that have not fired yet
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.deadline - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        int index = (int) ((entry.deadline >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        entry.next = wheels[level][index];
+        wheels[level][index] = entry;
+    }
+
+    private static final class Entry<T> {
+        private final long deadline;
+        private final T payload;
+        private Entry<T> next;
+
+        Entry(long deadline, T payload) {
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+    }
+}
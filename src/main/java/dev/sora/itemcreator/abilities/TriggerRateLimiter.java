@@ -0,0 +1,90 @@
+package dev.sora.itemcreator.abilities;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * Per-player token buckets in front of the ability pipeline. Each trigger of
+ * a custom item takes one token; tokens refill at a steady rate up to a burst
+ * size, so a normal player never notices while macro clients firing hundreds
+ * of clicks per second are cut off before any ability runs.
+ */
+public class TriggerRateLimiter {
+    private final Map<UUID, Bucket> buckets = new ConcurrentHashMap<>();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile boolean enabled = true;
+    private volatile double tokensPerNano = 10 / 1e9;
+    private volatile double burst = 20;
+
+    /**
+     * Apply the abilities.rate-limit settings from config.yml
+     */
+    public void configure(ConfigurationSection config) {
+        this.enabled = config.getBoolean("abilities.rate-limit.enabled", true);
+        this.tokensPerNano = Math.max(0.1, config.getDouble("abilities.rate-limit.triggers-per-second", 10)) / 1e9;
+        this.burst = Math.max(1, config.getDouble("abilities.rate-limit.burst", 20));
+    }
+
+    /**
+     * Take a token for the player
+     *
+     * @return false if the player is over the limit and the trigger should be dropped
+     */
+    public boolean tryAcquire(UUID playerId) {
+        if (!enabled)
+            return true;
+        Bucket bucket = buckets.computeIfAbsent(playerId, id -> new Bucket(burst, System.nanoTime()));
+        if (bucket.tryTake(System.nanoTime(), tokensPerNano, burst)) {
+            accepted.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Forget a player's bucket, e.g. when they leave
+     */
+    public void evict(UUID playerId) {
+        buckets.remove(playerId);
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    /**
+     * Number of triggers dropped for exceeding the rate
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public int getTrackedPlayers() {
+        return buckets.size();
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+
+        synchronized boolean tryTake(long now, double tokensPerNano, double burst) {
+            tokens = Math.min(burst, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens < 1)
+                return false;
+            tokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package dev.sora.itemcreator.commands;
+
+import dev.sora.itemcreator.core.CustomItemRegistry;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Completes item ids for /abilities. Safe to call off the main thread.
+ */
+public class AbilitiesTabCompleter implements TabCompleter {
+    private final CustomItemRegistry registry;
+
+    public AbilitiesTabCompleter(CustomItemRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, @NotNull String[] args) {
+        if (args.length == 1) {
+            return new ArrayList<>(registry.completeIds(args[0]));
+        }
+        return Collections.emptyList();
+    }
+}
@@ -4,6 +4,7 @@ import dev.sora.itemcreator.core.CustomItemRegistry;
 import dev.sora.itemcreator.core.ItemFactory;
 import dev.sora.itemcreator.gui.RecipeCreatorGUI;
 import dev.sora.itemcreator.gui.RecipeMetadataInput;
+import dev.sora.itemcreator.scheduling.TaskScheduler;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.command.Command;
@@ -15,10 +16,12 @@ import org.jetbrains.annotations.NotNull;
 public class CreateRecipeCommand implements CommandExecutor {
     private final ItemFactory factory;
     private final CustomItemRegistry registry;
+    private final TaskScheduler tasks;
 
-    public CreateRecipeCommand(ItemFactory factory, CustomItemRegistry registry) {
+    public CreateRecipeCommand(ItemFactory factory, CustomItemRegistry registry, TaskScheduler tasks) {
         this.factory = factory;
         this.registry = registry;
+        this.tasks = tasks;
     }
 
     @Override
@@ -37,7 +40,7 @@ public class CreateRecipeCommand implements CommandExecutor {
         RecipeMetadataInput.cleanupPlayer(player);
 
         // Open the recipe creator GUI
-        RecipeCreatorGUI gui = new RecipeCreatorGUI(player, registry, factory);
+        RecipeCreatorGUI gui = new RecipeCreatorGUI(player, registry, factory, tasks);
         factory.getPlugin().getServer().getPluginManager().registerEvents(gui, factory.getPlugin());
         player.openInventory(gui.getInventory());
 
@@ -13,8 +13,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
 
+/**
+ * Completes item ids and player names for /giveitem. Only reads the registry
+ * snapshot and the online player list, so it is also served off the main thread
+ * by {@link dev.sora.itemcreator.listeners.AsyncTabCompleteListener}.
+ */
 public class GiveItemTabCompleter implements TabCompleter {
     private final CustomItemRegistry registry;
 
@@ -25,11 +29,7 @@ public class GiveItemTabCompleter implements TabCompleter {
     @Override
     public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, @NotNull String[] args) {
         if (args.length == 1) {
-            String prefix = args[0].toLowerCase(Locale.ROOT);
-            return registry.ids().stream()
-                    .filter(id -> id.toLowerCase(Locale.ROOT).startsWith(prefix))
-                    .sorted()
-                    .collect(Collectors.toList());
+            return new ArrayList<>(registry.completeIds(args[0]));
         }
         if (args.length == 2) {
             String prefix = args[1].toLowerCase(Locale.ROOT);
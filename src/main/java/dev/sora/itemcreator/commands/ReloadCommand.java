@@ -1,14 +1,16 @@
 package dev.sora.itemcreator.commands;
 
-import java.io.File;
+import java.util.Map;
 
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 
 import dev.sora.itemcreator.ItemCreatorPlugin;
+import dev.sora.itemcreator.abilities.AbilityScheduler;
+import dev.sora.itemcreator.abilities.EffectEmitter;
+import dev.sora.itemcreator.abilities.LineOfSight;
+import dev.sora.itemcreator.abilities.TriggerRateLimiter;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 
@@ -21,45 +23,104 @@ public class ReloadCommand implements CommandExecutor {
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length > 0 && args[0].equalsIgnoreCase("stats")) {
+            sendStats(sender);
+            return true;
+        }
+
         // Check if reload subcommand was used
         if (args.length == 0 || !args[0].equalsIgnoreCase("reload")) {
-            sender.sendMessage(Component.text("Usage: /itemcreator reload", NamedTextColor.RED));
+            sender.sendMessage(Component.text("Usage: /itemcreator <reload|stats>", NamedTextColor.RED));
+            return true;
+        }
+
+        if (plugin.getCatalogReloader().isReloading()) {
+            sender.sendMessage(Component.text("A reload is already in progress.", NamedTextColor.RED));
             return true;
         }
 
         sender.sendMessage(Component.text("Reloading ItemCreator configuration...", NamedTextColor.YELLOW));
 
         try {
-            // Reload main config
+            // Reload main config (small, stays on the main thread)
             plugin.reloadConfig();
+            plugin.getAbilityManager().configure(plugin.getConfig());
+            plugin.restartFileWatcher();
+        } catch (Exception e) {
+            fail(sender, e);
+            return true;
+        }
 
-            // Reload items.yml and re-register everything
-            File itemsFile = new File(plugin.getDataFolder(), "items.yml");
-            FileConfiguration itemsCfg = YamlConfiguration.loadConfiguration(itemsFile);
-
-            // Clear and reload the registry
-            plugin.getRegistry().loadFromConfig(itemsCfg);
+        // Parse and compile items.yml off-thread; the registry and recipes are swapped on the main thread
+        plugin.getCatalogReloader().reloadAsync(sender).whenComplete((report, error) -> {
+            if (error != null) {
+                fail(sender, error);
+                return;
+            }
 
-            // Re-register all recipes
-            plugin.getRecipeRegistrar().unregisterAll();
-            plugin.getRecipeRegistrar().registerAll(itemsCfg);
-            
-            // Clear tracked custom blocks (they'll need to be re-placed)
-            plugin.getBlockListener().clearTrackedBlocks();
-            
+            sender.sendMessage(Component.text("Phase 2/2: committed in " + report.commitMillis() + "ms",
+                    NamedTextColor.GRAY));
             sender.sendMessage(Component.text("✓ Configuration reloaded successfully!", NamedTextColor.GREEN));
-            sender.sendMessage(Component.text("✓ Items: " + plugin.getRegistry().ids().size(), NamedTextColor.GREEN));
-            sender.sendMessage(Component.text("✓ Recipes re-registered", NamedTextColor.GREEN));
+            sender.sendMessage(Component.text("✓ Items: " + report.items() + " (added "
+                    + report.itemChanges().added() + ", changed " + report.itemChanges().changed() + ", removed "
+                    + report.itemChanges().removed() + ")", NamedTextColor.GREEN));
+            Map<String, String> errors = plugin.getRegistry().snapshot().errors();
+            if (!errors.isEmpty()) {
+                sender.sendMessage(Component.text("✗ " + errors.size() + " items failed to load:", NamedTextColor.RED));
+                for (Map.Entry<String, String> error : errors.entrySet()) {
+                    sender.sendMessage(Component.text("  " + error.getKey() + ": " + error.getValue(),
+                            NamedTextColor.RED));
+                }
+            }
+            sender.sendMessage(Component.text("✓ Item prototypes: " + plugin.getItemFactory().getPrototypeCount()
+                    + " (built: " + plugin.getItemFactory().getPrototypeBuilds()
+                    + ", reused: " + plugin.getItemFactory().getPrototypeHits() + ")", NamedTextColor.GREEN));
+            sender.sendMessage(Component.text("✓ Bundles: added " + report.bundleChanges().added() + ", changed "
+                    + report.bundleChanges().changed() + ", removed " + report.bundleChanges().removed(),
+                    NamedTextColor.GREEN));
             sender.sendMessage(Component.text("✓ Abilities system refreshed", NamedTextColor.GREEN));
-            sender.sendMessage(Component.text("✓ Custom block tracking cleared", NamedTextColor.GREEN));            plugin.getLogger().info("Configuration reloaded by " + sender.getName());
-
-        } catch (Exception e) {
-            sender.sendMessage(
-                    Component.text("✗ Failed to reload configuration: " + e.getMessage(), NamedTextColor.RED));
-            plugin.getLogger().warning("Failed to reload configuration: " + e.getMessage());
-            e.printStackTrace();
-        }
+            sender.sendMessage(Component.text("✓ Custom blocks: " + plugin.getBlockListener().getTrackedBlockCount()
+                    + " tracked in " + plugin.getBlockListener().getTrackedChunkCount() + " loaded chunks",
+                    NamedTextColor.GREEN));
+            plugin.getLogger().info("Configuration reloaded by " + sender.getName());
+        });
 
         return true;
     }
+
+    private void sendStats(CommandSender sender) {
+        AbilityScheduler scheduler = plugin.getAbilityManager().getScheduler();
+        sender.sendMessage(Component.text("Ability scheduler:", NamedTextColor.YELLOW));
+        sender.sendMessage(Component.text("  Queue depth: " + scheduler.getQueueDepth() + " (peak "
+                + scheduler.getPeakDepth() + ")", NamedTextColor.GRAY));
+        sender.sendMessage(Component.text(String.format("  Last tick: %d tasks in %.2fms (budget %.2fms)",
+                scheduler.getLastTickTasks(), scheduler.getLastTickNanos() / 1_000_000.0,
+                scheduler.getBudgetNanos() / 1_000_000.0), NamedTextColor.GRAY));
+        sender.sendMessage(Component.text(String.format("  Average busy tick: %.2fms, %d tasks run",
+                scheduler.getAverageTickNanos() / 1_000_000.0, scheduler.getCompletedTasks()), NamedTextColor.GRAY));
+
+        TriggerRateLimiter rateLimiter = plugin.getAbilityManager().getRateLimiter();
+        sender.sendMessage(Component.text("Trigger rate limit:", NamedTextColor.YELLOW));
+        sender.sendMessage(Component.text("  Accepted: " + rateLimiter.getAccepted() + ", rejected: "
+                + rateLimiter.getRejected() + " (" + rateLimiter.getTrackedPlayers() + " players tracked)",
+                NamedTextColor.GRAY));
+
+        LineOfSight lineOfSight = plugin.getAbilityManager().getLineOfSight();
+        sender.sendMessage(Component.text("Line of sight:", NamedTextColor.YELLOW));
+        sender.sendMessage(Component.text("  Ray traces: " + lineOfSight.getRayTraces() + ", cache hits: "
+                + lineOfSight.getCacheHits() + ", budget exhausted: " + lineOfSight.getBudgetExhausted(),
+                NamedTextColor.GRAY));
+
+        EffectEmitter effects = plugin.getAbilityManager().getEffects();
+        sender.sendMessage(Component.text("Effects:", NamedTextColor.YELLOW));
+        sender.sendMessage(Component.text("  Particles requested: " + effects.getParticlesRequested() + ", sent: "
+                + effects.getParticlesSent() + " (summed over receivers)", NamedTextColor.GRAY));
+    }
+
+    private void fail(CommandSender sender, Throwable e) {
+        sender.sendMessage(
+                Component.text("✗ Failed to reload configuration: " + e.getMessage(), NamedTextColor.RED));
+        plugin.getLogger().warning("Failed to reload configuration: " + e.getMessage());
+        e.printStackTrace();
+    }
 }
@@ -0,0 +1,251 @@
+package dev.sora.itemcreator.core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import dev.sora.itemcreator.abilities.AbilityDefinition;
+import dev.sora.itemcreator.abilities.AbilityManager;
+
+/**
+ * Compact binary snapshot of a compiled catalog, stored next to items.yml and
+ * keyed by the hash of the file contents it was compiled from, the cache
+ * format and the plugin version that compiled it. A plugin upgrade may change
+ * what compiles (e.g. new ability types), so its caches are never reused.
+ * Loading it skips the YAML parse and material matching; a stale or unreadable
+ * cache is ignored.
+ */
+public final class CatalogCache {
+    private static final int MAGIC = 0x49434331; // "ICC1"
+    private static final int SCHEMA_VERSION = 2;
+    // Manual and watcher reloads may both write the cache; one writer at a time
+    private static final Object WRITE_LOCK = new Object();
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_DOUBLE = 4;
+    private static final byte TAG_BOOLEAN = 5;
+    private static final byte TAG_LIST = 6;
+    private static final byte TAG_MAP = 7;
+
+    private CatalogCache() {
+    }
+
+    /**
+     * A catalog decoded from the cache
+     *
+     * @param snapshot The compiled items
+     * @param config   A config holding only the bundles section
+     */
+    public record Loaded(RegistrySnapshot snapshot, YamlConfiguration config) {
+    }
+
+    /**
+     * Write the compiled catalog, replacing any previous cache atomically
+     */
+    public static void write(Path file, String pluginVersion, long contentHash, RegistrySnapshot snapshot,
+            ConfigurationSection cfg) throws IOException {
+        synchronized (WRITE_LOCK) {
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                writeTo(temp, pluginVersion, contentHash, snapshot, cfg);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private static void writeTo(Path temp, String pluginVersion, long contentHash, RegistrySnapshot snapshot,
+            ConfigurationSection cfg) throws IOException {
+        try (OutputStream stream = Files.newOutputStream(temp);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            out.writeInt(MAGIC);
+            out.writeInt(SCHEMA_VERSION);
+            writeString(out, pluginVersion);
+            out.writeLong(contentHash);
+
+            out.writeInt(snapshot.size());
+            for (CustomItem item : snapshot.items().values()) {
+                writeString(out, item.getId());
+                writeString(out, item.getMaterial().name());
+                writeString(out, item.getDisplayName());
+                out.writeInt(item.getLore().size());
+                for (String line : item.getLore()) {
+                    writeString(out, line);
+                }
+                writeValue(out, item.getCustomModelData());
+                out.writeLong(snapshot.hash(item.getId()));
+                out.writeInt(item.getAbilityDefinitions().size());
+                for (AbilityDefinition definition : item.getAbilityDefinitions()) {
+                    writeString(out, definition.type());
+                    writeValue(out, definition.config());
+                }
+            }
+
+            ConfigurationSection bundles = cfg.getConfigurationSection("bundles");
+            writeValue(out, bundles);
+        }
+    }
+
+    /**
+     * Load the cache if it exists and was written by this plugin version for
+     * the given contents
+     *
+     * @return the decoded catalog, or null if missing, stale or corrupt
+     */
+    public static Loaded read(Path file, String pluginVersion, long contentHash, AbilityManager abilityManager) {
+        if (!Files.isRegularFile(file))
+            return null;
+        try {
+            // Read onto the heap rather than mapping, so no mapping keeps the file
+            // open and a later write can still replace it (Windows refuses otherwise)
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (in.getInt() != MAGIC || in.getInt() != SCHEMA_VERSION
+                    || !pluginVersion.equals(readString(in)) || in.getLong() != contentHash)
+                return null;
+
+            int count = in.getInt();
+            Map<String, CustomItem> items = new LinkedHashMap<>();
+            Map<String, Long> hashes = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String id = readString(in);
+                Material material = Material.getMaterial(readString(in));
+                String name = readString(in);
+                int loreLines = in.getInt();
+                List<String> lore = new ArrayList<>(loreLines);
+                for (int l = 0; l < loreLines; l++) {
+                    lore.add(readString(in));
+                }
+                Integer customModelData = (Integer) readValue(in);
+                long hash = in.getLong();
+                int abilityCount = in.getInt();
+                List<AbilityDefinition> definitions = new ArrayList<>(abilityCount);
+                for (int a = 0; a < abilityCount; a++) {
+                    String type = readString(in);
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> config = (Map<String, Object>) readValue(in);
+                    definitions.add(new AbilityDefinition(type, config));
+                }
+
+                items.put(id, CustomItem.fromDefinitions(id, material != null ? material : Material.PAPER, name,
+                        lore, customModelData, definitions, abilityManager));
+                hashes.put(id, hash);
+            }
+
+            YamlConfiguration config = new YamlConfiguration();
+            Object bundles = readValue(in);
+            if (bundles instanceof Map<?, ?> map) {
+                config.createSection("bundles", map);
+            }
+            return new Loaded(new RegistrySnapshot(items, hashes), config);
+        } catch (IOException | BufferUnderflowException | ClassCastException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0)
+            return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(TAG_STRING);
+            writeString(out, string);
+        } else if (value instanceof Integer number) {
+            out.writeByte(TAG_INT);
+            out.writeInt(number);
+        } else if (value instanceof Long number) {
+            out.writeByte(TAG_LONG);
+            out.writeLong(number);
+        } else if (value instanceof Number number) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TAG_LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof ConfigurationSection section) {
+            writeValue(out, section.getValues(false));
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(TAG_MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(out, String.valueOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            // Anything exotic is kept in its string form
+            out.writeByte(TAG_STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    private static Object readValue(ByteBuffer in) {
+        byte tag = in.get();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_STRING -> readString(in);
+            case TAG_INT -> in.getInt();
+            case TAG_LONG -> in.getLong();
+            case TAG_DOUBLE -> in.getDouble();
+            case TAG_BOOLEAN -> in.get() != 0;
+            case TAG_LIST -> {
+                int size = in.getInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield list;
+            }
+            case TAG_MAP -> {
+                int size = in.getInt();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(readString(in), readValue(in));
+                }
+                yield map;
+            }
+            default -> throw new IllegalArgumentException("Unknown value tag " + tag);
+        };
+    }
+}
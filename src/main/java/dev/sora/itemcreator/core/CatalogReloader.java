@@ -0,0 +1,285 @@
+package dev.sora.itemcreator.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import dev.sora.itemcreator.ItemCreatorPlugin;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+
+/**
+ * Loads items.yml and the item packs in items/ in two phases: an async phase
+ * that reads, parses and compiles the catalog, and a short main-thread phase
+ * that installs the result. A file that fails to parse never replaces the live catalog.
+ */
+public class CatalogReloader {
+    private static final String PACKS_DIRECTORY = "items";
+
+    private final ItemCreatorPlugin plugin;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    // Combined hash of the items.yml and pack contents that are currently live
+    private volatile long committedHash;
+
+    public CatalogReloader(ItemCreatorPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Reload on a background thread and commit on the main thread. Progress is
+     * reported to the sender (if any); the returned future completes on the
+     * main thread once the new catalog is live.
+     */
+    public CompletableFuture<ReloadReport> reloadAsync(CommandSender sender) {
+        return reloadAsync(sender, false);
+    }
+
+    /**
+     * Reload as above, optionally loading from the binary catalog cache when it
+     * matches the current file. Meant for startup, when there is no live catalog
+     * whose instances could be reused.
+     */
+    public CompletableFuture<ReloadReport> reloadAsync(CommandSender sender, boolean useCache) {
+        CompletableFuture<ReloadReport> result = new CompletableFuture<>();
+        if (!reloading.compareAndSet(false, true)) {
+            result.completeExceptionally(new IllegalStateException("A reload is already in progress"));
+            return result;
+        }
+
+        plugin.getTasks().runAsync(() -> {
+            CompiledCatalog catalog;
+            try {
+                catalog = compile(useCache);
+            } catch (Exception e) {
+                reloading.set(false);
+                result.completeExceptionally(e);
+                return;
+            }
+            progress(sender, "Phase 1/2: read " + catalog.readMillis() + "ms, "
+                    + (catalog.fromCache() ? "loaded from cache" : "parsed " + catalog.parseMillis() + "ms")
+                    + ", compiled " + catalog.snapshot().size() + " items in " + catalog.compileMillis() + "ms");
+            commitOnGlobalRegion(catalog, result, true);
+        });
+        return result;
+    }
+
+    /**
+     * Commit an already compiled catalog on the global region, e.g. one validated by
+     * the file watcher. Fails fast if another reload is in progress. The catalog
+     * cache is left alone; the next startup or manual reload refreshes it.
+     */
+    public CompletableFuture<ReloadReport> commitAsync(CompiledCatalog catalog) {
+        CompletableFuture<ReloadReport> result = new CompletableFuture<>();
+        if (!reloading.compareAndSet(false, true)) {
+            result.completeExceptionally(new IllegalStateException("A reload is already in progress"));
+            return result;
+        }
+        commitOnGlobalRegion(catalog, result, false);
+        return result;
+    }
+
+    private void commitOnGlobalRegion(CompiledCatalog catalog, CompletableFuture<ReloadReport> result,
+            boolean writeCache) {
+        // Registry and recipes are global state, so the commit runs on the global region
+        plugin.getTasks().runGlobal(() -> {
+            try {
+                ReloadReport report = commit(catalog);
+                // Only a catalog that actually went live is worth starting from next time
+                if (writeCache && catalog.mainSnapshot() != null) {
+                    plugin.getTasks().runAsync(() -> writeCache(catalog));
+                }
+                result.complete(report);
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            } finally {
+                reloading.set(false);
+            }
+        });
+    }
+
+    public CompiledCatalog compile() throws IOException, InvalidConfigurationException {
+        return compile(false);
+    }
+
+    /**
+     * Phase 1: file read, YAML parse, material and ability resolution. Safe off the main thread.
+     * Pack files are read and parsed in parallel; their items are compiled lazily.
+     */
+    public CompiledCatalog compile(boolean useCache) throws IOException, InvalidConfigurationException {
+        File itemsFile = new File(plugin.getDataFolder(), "items.yml");
+        Path cacheFile = cacheFile();
+        CustomItemRegistry registry = plugin.getRegistry();
+
+        long start = System.nanoTime();
+        byte[] contents = Files.readAllBytes(itemsFile.toPath());
+        long mainHash = ConfigHash.of(contents);
+        List<ItemPack> packs = readPacks();
+        long[] hashes = new long[packs.size() + 1];
+        hashes[0] = mainHash;
+        for (int i = 0; i < packs.size(); i++) {
+            hashes[i + 1] = packs.get(i).contentHash();
+        }
+        long contentHash = ConfigHash.combine(hashes);
+        long read = System.nanoTime();
+
+        // The cache only covers items.yml; pack items are cheap to register since they compile lazily
+        if (useCache) {
+            CatalogCache.Loaded cached = CatalogCache.read(cacheFile, pluginVersion(), mainHash,
+                    plugin.getAbilityManager());
+            if (cached != null) {
+                RegistrySnapshot snapshot = registry.withPacks(cached.snapshot(), packs, registry.snapshot());
+                return new CompiledCatalog(cached.config(), snapshot, contentHash, mainHash, null, true,
+                        millis(start, read), 0, millis(read, System.nanoTime()));
+            }
+        }
+
+        YamlConfiguration itemsCfg = new YamlConfiguration();
+        itemsCfg.loadFromString(new String(contents, StandardCharsets.UTF_8));
+        long parsed = System.nanoTime();
+
+        RegistrySnapshot mainSnapshot = registry.compile(itemsCfg, registry.snapshot());
+        RegistrySnapshot snapshot = registry.withPacks(mainSnapshot, packs, registry.snapshot());
+        long compiled = System.nanoTime();
+
+        return new CompiledCatalog(itemsCfg, snapshot, contentHash, mainHash, mainSnapshot, false,
+                millis(start, read), millis(read, parsed), millis(parsed, compiled));
+    }
+
+    /**
+     * The directory item packs are loaded from
+     */
+    public File getPacksDirectory() {
+        return new File(plugin.getDataFolder(), PACKS_DIRECTORY);
+    }
+
+    /**
+     * Read and parse every pack file, in parallel. Any pack that fails to parse
+     * fails the whole load, just like a broken items.yml.
+     */
+    private List<ItemPack> readPacks() throws IOException, InvalidConfigurationException {
+        File[] files = getPacksDirectory().listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files == null || files.length == 0)
+            return List.of();
+        // Sorted so the catalog order and combined hash don't depend on the file system
+        Arrays.sort(files);
+
+        List<PackResult> results;
+        if (files.length == 1) {
+            results = List.of(readPack(files[0]));
+        } else {
+            results = CustomItemRegistry.compilePool()
+                    .submit(() -> Arrays.stream(files).parallel().map(CatalogReloader::readPack).toList())
+                    .join();
+        }
+
+        List<ItemPack> packs = new ArrayList<>(results.size());
+        for (PackResult result : results) {
+            if (result.error() instanceof IOException e)
+                throw new IOException(result.file() + ": " + e.getMessage(), e);
+            if (result.error() instanceof InvalidConfigurationException e)
+                throw new InvalidConfigurationException(result.file() + ": " + e.getMessage(), e);
+            packs.add(result.pack());
+        }
+        return packs;
+    }
+
+    private static PackResult readPack(File file) {
+        String name = file.getName();
+        String namespace = name.substring(0, name.length() - ".yml".length()).toLowerCase(Locale.ROOT);
+        try {
+            byte[] contents = Files.readAllBytes(file.toPath());
+            YamlConfiguration config = new YamlConfiguration();
+            config.loadFromString(new String(contents, StandardCharsets.UTF_8));
+            return new PackResult(name, new ItemPack(namespace, config, ConfigHash.of(contents)), null);
+        } catch (IOException | InvalidConfigurationException e) {
+            return new PackResult(name, null, e);
+        }
+    }
+
+    private void writeCache(CompiledCatalog catalog) {
+        try {
+            CatalogCache.write(cacheFile(), pluginVersion(), catalog.mainHash(), catalog.mainSnapshot(),
+                    catalog.config());
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not write catalog cache: " + e.getMessage());
+        }
+    }
+
+    private String pluginVersion() {
+        return plugin.getPluginMeta().getVersion();
+    }
+
+    private Path cacheFile() {
+        return new File(plugin.getDataFolder(), "items.cache").toPath();
+    }
+
+    /**
+     * Phase 2: publish the registry and swap recipes. Must run on the main thread
+     * (the global region on region-threaded servers).
+     */
+    public ReloadReport commit(CompiledCatalog catalog) {
+        long start = System.nanoTime();
+        ChangeCounts itemChanges = catalog.snapshot().diff(plugin.getRegistry().snapshot());
+        plugin.getRegistry().publish(catalog.snapshot());
+        committedHash = catalog.contentHash();
+        // Only bundles whose section or referenced items changed are re-registered
+        ChangeCounts bundleChanges = plugin.getRecipeRegistrar().sync(catalog.config());
+        for (Map.Entry<String, String> error : catalog.snapshot().errors().entrySet()) {
+            plugin.getLogger().warning("Skipped item '" + error.getKey() + "': " + error.getValue());
+        }
+        return new ReloadReport(catalog.snapshot().size(), itemChanges, bundleChanges, catalog.fromCache(),
+                catalog.readMillis(),
+                catalog.parseMillis(), catalog.compileMillis(), millis(start, System.nanoTime()));
+    }
+
+    public boolean isReloading() {
+        return reloading.get();
+    }
+
+    public long getCommittedHash() {
+        return committedHash;
+    }
+
+    private static void progress(CommandSender sender, String message) {
+        if (sender != null) {
+            sender.sendMessage(Component.text(message, NamedTextColor.GRAY));
+        }
+    }
+
+    private static long millis(long fromNanos, long toNanos) {
+        return (toNanos - fromNanos) / 1_000_000;
+    }
+
+    /**
+     * Output of the async phase, ready to be committed. The items.yml hash and
+     * snapshot are what the catalog cache is written from; the snapshot is null
+     * when the catalog was itself loaded from the cache.
+     */
+    public record CompiledCatalog(YamlConfiguration config, RegistrySnapshot snapshot, long contentHash,
+            long mainHash, RegistrySnapshot mainSnapshot, boolean fromCache, long readMillis, long parseMillis,
+            long compileMillis) {
+    }
+
+    private record PackResult(String file, ItemPack pack, Exception error) {
+    }
+
+    /**
+     * Per-phase timings of a finished reload
+     */
+    public record ReloadReport(int items, ChangeCounts itemChanges, ChangeCounts bundleChanges,
+            boolean fromCache, long readMillis, long parseMillis, long compileMillis, long commitMillis) {
+    }
+}
@@ -0,0 +1,17 @@
+package dev.sora.itemcreator.core;
+
+/**
+ * How many entries were added, changed and removed by an incremental reload
+ */
+public record ChangeCounts(int added, int changed, int removed) {
+    public static final ChangeCounts NONE = new ChangeCounts(0, 0, 0);
+
+    public boolean isEmpty() {
+        return added == 0 && changed == 0 && removed == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "+" + added + " ~" + changed + " -" + removed;
+    }
+}
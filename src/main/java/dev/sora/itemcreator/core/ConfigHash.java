@@ -0,0 +1,59 @@
+package dev.sora.itemcreator.core;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * Content hashes of config sections, used to tell which entries changed between loads
+ */
+public final class ConfigHash {
+
+    private ConfigHash() {
+    }
+
+    /**
+     * Hash every key and value below the section. Nested sections contribute their
+     * keys and leaf values, never their object identity.
+     */
+    public static long of(ConfigurationSection section) {
+        if (section == null)
+            return 0;
+        StringBuilder canonical = new StringBuilder();
+        for (Map.Entry<String, Object> entry : section.getValues(true).entrySet()) {
+            canonical.append(entry.getKey()).append('=');
+            if (!(entry.getValue() instanceof ConfigurationSection)) {
+                canonical.append(entry.getValue());
+            }
+            canonical.append('\n');
+        }
+        return of(canonical.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * First 64 bits of the SHA-256 digest of the given bytes
+     */
+    public static long of(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Fold several hashes into one; order matters
+     */
+    public static long combine(long... hashes) {
+        long result = 17;
+        for (long hash : hashes) {
+            result = result * 31 + hash;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,316 @@
+package dev.sora.itemcreator.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Custom item ids of placed blocks that can't carry their own data (anything
+ * that isn't a tile entity, like concrete).
+ *
+ * Each chunk keeps its blocks in its own persistent data as a palette of ids
+ * plus one long per block: the palette index in the high half and the packed
+ * position (y << 8 | z << 4 | x, chunk-local) in the low half. The table is
+ * decoded when the chunk loads and dropped when it unloads, so only loaded
+ * chunks take memory. Changes are written straight back to the chunk, which
+ * saves them along with its blocks.
+ *
+ * The cache is authoritative for every chunk whose persistent data was
+ * looked at once: a chunk without a table costs two hash lookups, not a
+ * persistent data read, which matters for frequent events like melting and
+ * leaf decay.
+ *
+ * Tables are immutable and swapped on change, so lookups from any thread see
+ * a consistent table without locking.
+ */
+public class CustomBlockStore {
+    private final NamespacedKey tableKey;
+    private final NamespacedKey paletteKey;
+    private final NamespacedKey blocksKey;
+    private final Map<ChunkRef, Table> loaded = new ConcurrentHashMap<>();
+    // Loaded chunks whose persistent data has been decoded, whether or not they had a table
+    private final Set<ChunkRef> checked = ConcurrentHashMap.newKeySet();
+
+    public CustomBlockStore(Plugin plugin) {
+        this.tableKey = new NamespacedKey(plugin, "custom_blocks");
+        this.paletteKey = new NamespacedKey(plugin, "palette");
+        this.blocksKey = new NamespacedKey(plugin, "blocks");
+    }
+
+    /**
+     * Decode the chunk's table, if it has one
+     */
+    public void load(Chunk chunk) {
+        ChunkRef ref = ChunkRef.of(chunk);
+        Table decoded = decode(chunk);
+        if (decoded != null) {
+            loaded.put(ref, decoded);
+        }
+        checked.add(ref);
+    }
+
+    private Table decode(Chunk chunk) {
+        PersistentDataContainer table = chunk.getPersistentDataContainer().get(tableKey,
+                PersistentDataType.TAG_CONTAINER);
+        if (table == null)
+            return null;
+
+        List<String> palette = table.get(paletteKey, PersistentDataType.LIST.strings());
+        long[] blocks = table.get(blocksKey, PersistentDataType.LONG_ARRAY);
+        if (palette == null || blocks == null || blocks.length == 0)
+            return null;
+
+        int[] positions = new int[blocks.length];
+        String[] ids = new String[blocks.length];
+        int count = 0;
+        for (long entry : blocks) {
+            int index = (int) (entry >>> 32);
+            if (index >= palette.size())
+                continue;
+            positions[count] = (int) entry;
+            ids[count] = palette.get(index);
+            count++;
+        }
+        if (count == 0)
+            return null;
+
+        return Table.sorted(Arrays.copyOf(positions, count), Arrays.copyOf(ids, count));
+    }
+
+    /**
+     * The cached table of the block's chunk. A chunk whose load was missed
+     * (e.g. loaded before the plugin enabled on a region-threaded server) is
+     * decoded from its persistent data the first time it is touched, so
+     * nothing already stored in it is overwritten.
+     */
+    private Table table(ChunkRef ref, Block block) {
+        Table table = loaded.get(ref);
+        if (table != null || checked.contains(ref))
+            return table;
+        Table decoded = decode(block.getChunk());
+        if (decoded != null) {
+            table = loaded.putIfAbsent(ref, decoded);
+            if (table == null) {
+                table = decoded;
+            }
+        }
+        checked.add(ref);
+        return table;
+    }
+
+    /**
+     * Release the chunk's table; it is already persisted
+     */
+    public void unload(Chunk chunk) {
+        ChunkRef ref = ChunkRef.of(chunk);
+        checked.remove(ref);
+        loaded.remove(ref);
+    }
+
+    /**
+     * Load the tables of chunks that were loaded before the plugin enabled
+     */
+    public void loadAll(List<World> worlds) {
+        for (World world : worlds) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                load(chunk);
+            }
+        }
+    }
+
+    /**
+     * Get the custom item id stored for a block, or null
+     */
+    public String get(Block block) {
+        Table table = table(ChunkRef.of(block), block);
+        return table != null ? table.get(pack(block)) : null;
+    }
+
+    /**
+     * Record the custom item a block was placed from
+     */
+    public void put(Block block, String customItemId) {
+        ChunkRef ref = ChunkRef.of(block);
+        Table stored = table(ref, block);
+        Table table = loaded.compute(ref, (key, current) -> {
+            Table base = current != null ? current : stored != null ? stored : Table.EMPTY;
+            return base.with(pack(block), customItemId);
+        });
+        save(block.getChunk(), table);
+    }
+
+    /**
+     * Forget a block, returning the id it had, or null if it wasn't tracked
+     */
+    public String remove(Block block) {
+        ChunkRef ref = ChunkRef.of(block);
+        Table table = table(ref, block);
+        if (table == null)
+            return null;
+
+        int position = pack(block);
+        String customItemId = table.get(position);
+        if (customItemId == null)
+            return null;
+
+        Table updated = loaded.computeIfPresent(ref, (key, current) -> {
+            Table without = current.without(position);
+            return without.size() == 0 ? null : without;
+        });
+        save(block.getChunk(), updated);
+        return customItemId;
+    }
+
+    /**
+     * Blocks tracked across loaded chunks
+     */
+    public int size() {
+        int size = 0;
+        for (Table table : loaded.values()) {
+            size += table.size();
+        }
+        return size;
+    }
+
+    /**
+     * Loaded chunks that have at least one tracked block
+     */
+    public int chunkCount() {
+        return loaded.size();
+    }
+
+    private void save(Chunk chunk, Table table) {
+        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
+        if (table == null || table.size() == 0) {
+            pdc.remove(tableKey);
+            return;
+        }
+
+        List<String> palette = new ArrayList<>();
+        Map<String, Integer> paletteIndex = new HashMap<>();
+        long[] blocks = new long[table.size()];
+        for (int i = 0; i < blocks.length; i++) {
+            int index = paletteIndex.computeIfAbsent(table.ids[i], id -> {
+                palette.add(id);
+                return palette.size() - 1;
+            });
+            blocks[i] = (long) index << 32 | (table.positions[i] & 0xFFFFFFFFL);
+        }
+
+        PersistentDataContainer encoded = pdc.getAdapterContext().newPersistentDataContainer();
+        encoded.set(paletteKey, PersistentDataType.LIST.strings(), palette);
+        encoded.set(blocksKey, PersistentDataType.LONG_ARRAY, blocks);
+        pdc.set(tableKey, PersistentDataType.TAG_CONTAINER, encoded);
+    }
+
+    /**
+     * Chunk-local position; y keeps its sign through the arithmetic shift
+     */
+    private static int pack(Block block) {
+        return block.getY() << 8 | (block.getZ() & 15) << 4 | (block.getX() & 15);
+    }
+
+    private record ChunkRef(UUID world, long key) {
+        static ChunkRef of(Chunk chunk) {
+            return new ChunkRef(chunk.getWorld().getUID(), chunk.getChunkKey());
+        }
+
+        static ChunkRef of(Block block) {
+            return new ChunkRef(block.getWorld().getUID(), Chunk.getChunkKey(block.getX() >> 4, block.getZ() >> 4));
+        }
+    }
+
+    /**
+     * One chunk's blocks, sorted by packed position
+     */
+    private static final class Table {
+        static final Table EMPTY = new Table(new int[0], new String[0]);
+
+        final int[] positions;
+        final String[] ids;
+
+        private Table(int[] positions, String[] ids) {
+            this.positions = positions;
+            this.ids = ids;
+        }
+
+        static Table sorted(int[] positions, String[] ids) {
+            Integer[] order = new Integer[positions.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(positions[a], positions[b]));
+
+            int[] sortedPositions = new int[positions.length];
+            String[] sortedIds = new String[ids.length];
+            int count = 0;
+            for (int i : order) {
+                // Duplicate positions would only come from a hand-edited table; keep the last
+                if (count > 0 && sortedPositions[count - 1] == positions[i]) {
+                    sortedIds[count - 1] = ids[i];
+                    continue;
+                }
+                sortedPositions[count] = positions[i];
+                sortedIds[count] = ids[i];
+                count++;
+            }
+            return new Table(Arrays.copyOf(sortedPositions, count), Arrays.copyOf(sortedIds, count));
+        }
+
+        int size() {
+            return positions.length;
+        }
+
+        String get(int position) {
+            int i = Arrays.binarySearch(positions, position);
+            return i >= 0 ? ids[i] : null;
+        }
+
+        Table with(int position, String id) {
+            int i = Arrays.binarySearch(positions, position);
+            if (i >= 0) {
+                String[] updatedIds = ids.clone();
+                updatedIds[i] = id;
+                return new Table(positions, updatedIds);
+            }
+
+            int insert = -i - 1;
+            int[] updatedPositions = new int[positions.length + 1];
+            String[] updatedIds = new String[ids.length + 1];
+            System.arraycopy(positions, 0, updatedPositions, 0, insert);
+            System.arraycopy(ids, 0, updatedIds, 0, insert);
+            updatedPositions[insert] = position;
+            updatedIds[insert] = id;
+            System.arraycopy(positions, insert, updatedPositions, insert + 1, positions.length - insert);
+            System.arraycopy(ids, insert, updatedIds, insert + 1, ids.length - insert);
+            return new Table(updatedPositions, updatedIds);
+        }
+
+        Table without(int position) {
+            int i = Arrays.binarySearch(positions, position);
+            if (i < 0)
+                return this;
+
+            int[] updatedPositions = new int[positions.length - 1];
+            String[] updatedIds = new String[ids.length - 1];
+            System.arraycopy(positions, 0, updatedPositions, 0, i);
+            System.arraycopy(ids, 0, updatedIds, 0, i);
+            System.arraycopy(positions, i + 1, updatedPositions, i, positions.length - i - 1);
+            System.arraycopy(ids, i + 1, updatedIds, i, ids.length - i - 1);
+            return new Table(updatedPositions, updatedIds);
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package dev.sora.itemcreator.core;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.event.Event;
+import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -15,6 +19,7 @@ import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.NotNull;
 
+import dev.sora.itemcreator.abilities.AbilityDefinition;
 import dev.sora.itemcreator.abilities.AbilityManager;
 import dev.sora.itemcreator.abilities.ItemAbility;
 import net.kyori.adventure.text.Component;
@@ -22,13 +27,17 @@ import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 
 public class CustomItem {
     public static final String PDC_NAMESPACE = "itemcreator";
+    private static final ItemAbility[] NO_ABILITIES = new ItemAbility[0];
 
     private final String id;
     private final Material material;
-    private final String displayName;
-    private final List<String> lore;
     private final Integer customModelData;
-    private final List<ItemAbility> abilities;
+    // Types of the item's abilities; known without materializing, so the registry can index them
+    private final List<String> abilityTypes;
+    // Everything beyond id and material; null until a lazily loaded item is first used
+    private volatile Details details;
+    private ConfigurationSection pendingSection;
+    private AbilityManager pendingAbilityManager;
 
     public CustomItem(String id, Material material, String displayName, List<String> lore, Integer customModelData) {
         this(id, material, displayName, lore, customModelData, new ArrayList<>());
@@ -36,64 +45,178 @@ public class CustomItem {
 
     public CustomItem(String id, Material material, String displayName, List<String> lore, Integer customModelData,
             List<ItemAbility> abilities) {
+        this(id, material, displayName, lore, customModelData, abilities, List.of());
+    }
+
+    private CustomItem(String id, Material material, String displayName, List<String> lore, Integer customModelData,
+            List<ItemAbility> abilities, List<AbilityDefinition> abilityDefinitions) {
         this.id = id;
         this.material = material;
-        this.displayName = displayName;
-        this.lore = lore != null ? lore : new ArrayList<>();
         this.customModelData = customModelData;
-        this.abilities = abilities != null ? abilities : new ArrayList<>();
+        this.details = new Details(displayName, lore, abilities, abilityDefinitions);
+        List<String> types = new ArrayList<>();
+        for (ItemAbility ability : details.abilities) {
+            types.add(ability.getType());
+        }
+        this.abilityTypes = List.copyOf(types);
+    }
+
+    private CustomItem(String id, Material material, ConfigurationSection section, AbilityManager abilityManager) {
+        this.id = id;
+        this.material = material;
+        this.pendingSection = section;
+        this.pendingAbilityManager = abilityManager;
+        this.customModelData = section.isInt("custom-model-data") ? section.getInt("custom-model-data") : null;
+        // Same filtering fromConfig applies when it creates the abilities
+        List<String> types = new ArrayList<>();
+        ConfigurationSection abilitiesSection = section.getConfigurationSection("abilities");
+        if (abilitiesSection != null && abilityManager != null) {
+            for (String key : abilitiesSection.getKeys(false)) {
+                String type = abilitiesSection.getString(key + ".type");
+                if (abilityManager.isAbilityType(type)) {
+                    types.add(type);
+                }
+            }
+        }
+        this.abilityTypes = List.copyOf(types);
+    }
+
+    /**
+     * Create an item that only resolves its material, model data and ability
+     * types now; name, lore and abilities are parsed from the section the first time they are needed
+     */
+    public static CustomItem lazy(String id, ConfigurationSection section, AbilityManager abilityManager) {
+        Material material = Material.matchMaterial(section.getString("material", "PAPER"));
+        return new CustomItem(id, material != null ? material : Material.PAPER, section, abilityManager);
+    }
+
+    private Details details() {
+        Details current = details;
+        if (current != null)
+            return current;
+        synchronized (this) {
+            if (details == null) {
+                details = fromConfig(id, pendingSection, pendingAbilityManager).details();
+                pendingSection = null;
+                pendingAbilityManager = null;
+            }
+            return details;
+        }
+    }
+
+    /**
+     * Whether name, lore and abilities have been parsed yet
+     */
+    public boolean isMaterialized() {
+        return details != null;
     }
 
     public String getId() {
         return id;
     }
 
+    public Material getMaterial() {
+        return material;
+    }
+
+    public String getDisplayName() {
+        return details().displayName;
+    }
+
+    public List<String> getLore() {
+        return Collections.unmodifiableList(details().lore);
+    }
+
+    public Integer getCustomModelData() {
+        return customModelData;
+    }
+
+    /**
+     * The configurations this item's abilities were created from
+     */
+    public List<AbilityDefinition> getAbilityDefinitions() {
+        return details().abilityDefinitions;
+    }
+
     public List<ItemAbility> getAbilities() {
-        return new ArrayList<>(abilities);
+        return new ArrayList<>(details().abilities);
+    }
+
+    public boolean hasAbilities() {
+        return !details().abilities.isEmpty();
+    }
+
+    /**
+     * The types of this item's abilities, in definition order. Never materializes a lazy item.
+     */
+    public List<String> getAbilityTypes() {
+        return abilityTypes;
+    }
+
+    /**
+     * Same as {@link #hasAbilities()}, but never materializes a lazy item
+     */
+    public boolean declaresAbilities() {
+        return !abilityTypes.isEmpty();
+    }
+
+    /**
+     * Get the abilities that can be triggered by the given event type. The
+     * returned array is shared and must not be modified.
+     */
+    public ItemAbility[] abilitiesFor(Class<? extends Event> eventClass) {
+        Details current = details();
+        ItemAbility[] cached = current.abilitiesByTrigger.get(eventClass);
+        if (cached != null)
+            return cached;
+        return current.abilitiesByTrigger.computeIfAbsent(eventClass, current::compileAbilities);
     }
 
     public ItemStack toItemStack(@NotNull ItemFactory factory) {
-        factory.getPlugin().getLogger().info("=== CUSTOM ITEM STACK CREATION DEBUG ===");
-        factory.getPlugin().getLogger().info("Item ID: " + id);
-        factory.getPlugin().getLogger().info("Material: " + material.name());
-        factory.getPlugin().getLogger().info("Display Name: " + displayName);
-        factory.getPlugin().getLogger().info("Lore: " + lore);
-        factory.getPlugin().getLogger().info("Custom Model Data: " + customModelData);
+        Details details = details();
+        String displayName = details.displayName;
+        List<String> lore = details.lore;
+        Component displayNameComponent = details.displayNameComponent;
+        List<Component> loreComponents = details.loreComponents;
+
+        factory.getPlugin().getLogger().fine("=== CUSTOM ITEM STACK CREATION DEBUG ===");
+        factory.getPlugin().getLogger().fine("Item ID: " + id);
+        factory.getPlugin().getLogger().fine("Material: " + material.name());
+        factory.getPlugin().getLogger().fine("Display Name: " + displayName);
+        factory.getPlugin().getLogger().fine("Lore: " + lore);
+        factory.getPlugin().getLogger().fine("Custom Model Data: " + customModelData);
 
         ItemStack stack = new ItemStack(material);
         ItemMeta meta = stack.getItemMeta();
-        if (displayName != null) {
-            Component name = LegacyComponentSerializer.legacyAmpersand().deserialize(displayName);
+        if (displayNameComponent != null) {
+            Component name = displayNameComponent;
             meta.displayName(name);
-            factory.getPlugin().getLogger().info("Set display name component: " + name);
+            factory.getPlugin().getLogger().fine("Set display name component: " + name);
         }
-        if (!lore.isEmpty()) {
-            List<Component> loreComponents = new ArrayList<>();
-            for (String line : lore) {
-                loreComponents.add(LegacyComponentSerializer.legacyAmpersand().deserialize(line));
-            }
+        if (!loreComponents.isEmpty()) {
             meta.lore(loreComponents);
-            factory.getPlugin().getLogger().info("Set lore components: " + loreComponents.size() + " lines");
+            factory.getPlugin().getLogger().fine("Set lore components: " + loreComponents.size() + " lines");
         }
         if (customModelData != null) {
             meta.setCustomModelData(customModelData);
-            factory.getPlugin().getLogger().info("Set custom model data: " + customModelData);
+            factory.getPlugin().getLogger().fine("Set custom model data: " + customModelData);
         }
         meta.addItemFlags(ItemFlag.HIDE_ATTRIBUTES);
         // Tag with PDC id
-        NamespacedKey key = new NamespacedKey(factory.getPlugin(), "cid");
+        NamespacedKey key = factory.getRegistry().getIdKey();
         PersistentDataContainer pdc = meta.getPersistentDataContainer();
         pdc.set(key, PersistentDataType.STRING, id);
-        factory.getPlugin().getLogger().info("Set PDC tag with ID: " + id);
+        factory.getPlugin().getLogger().fine("Set PDC tag with ID: " + id);
+        factory.getRegistry().writeHandle(pdc, id);
         stack.setItemMeta(meta);
 
-        factory.getPlugin().getLogger().info("Final ItemStack: " + stack.getType().name() +
+        factory.getPlugin().getLogger().fine("Final ItemStack: " + stack.getType().name() +
                 " (Amount: " + stack.getAmount() + ")");
         if (stack.hasItemMeta() && stack.getItemMeta().hasCustomModelData()) {
-            factory.getPlugin().getLogger().info("Final custom model data: " +
+            factory.getPlugin().getLogger().fine("Final custom model data: " +
                     stack.getItemMeta().getCustomModelData());
         }
-        factory.getPlugin().getLogger().info("=== END CUSTOM ITEM STACK CREATION DEBUG ===");
+        factory.getPlugin().getLogger().fine("=== END CUSTOM ITEM STACK CREATION DEBUG ===");
 
         return stack;
     }
@@ -103,41 +226,23 @@ public class CustomItem {
     }
 
     public static CustomItem fromConfig(String id, ConfigurationSection section, AbilityManager abilityManager) {
-        System.out.println("=== CUSTOM ITEM FROM CONFIG DEBUG ===");
-        System.out.println("Loading item ID: " + id);
-        System.out.println("Config section: " + section.getName());
-
-        String materialString = section.getString("material", "PAPER");
-        System.out.println("Material string from config: " + materialString);
-
-        Material material = Material.matchMaterial(materialString);
+        Material material = Material.matchMaterial(section.getString("material", "PAPER"));
         if (material == null) {
-            System.out.println("Failed to match material '" + materialString + "', defaulting to PAPER");
             material = Material.PAPER;
-        } else {
-            System.out.println("Matched material: " + material.name());
         }
 
         String name = section.getString("name", null); // Don't default to id, use null for no custom name
-        System.out.println("Display name: " + name);
-
         List<String> lore = section.getStringList("lore");
-        System.out.println("Lore lines: " + lore);
-
         Integer cmd = section.isInt("custom-model-data") ? section.getInt("custom-model-data") : null;
-        System.out.println("Custom model data: " + cmd);
 
         // Load abilities
-        List<ItemAbility> abilities = new ArrayList<>();
+        List<AbilityDefinition> definitions = new ArrayList<>();
         ConfigurationSection abilitiesSection = section.getConfigurationSection("abilities");
         if (abilitiesSection != null && abilityManager != null) {
-            System.out.println("Loading abilities...");
-
             for (String abilityKey : abilitiesSection.getKeys(false)) {
                 ConfigurationSection abilityConfig = abilitiesSection.getConfigurationSection(abilityKey);
                 if (abilityConfig != null) {
                     String abilityType = abilityConfig.getString("type");
-                    System.out.println("Loading ability: " + abilityKey + " of type: " + abilityType);
 
                     if (abilityType != null) {
                         Map<String, Object> config = new HashMap<>();
@@ -147,25 +252,79 @@ public class CustomItem {
                             }
                         }
 
-                        ItemAbility ability = abilityManager.createAbility(abilityType, config);
-                        if (ability != null) {
-                            abilities.add(ability);
-                            System.out.println("Successfully loaded ability: " + abilityType);
-                        } else {
-                            System.out.println("Failed to create ability of type: " + abilityType);
-                        }
+                        definitions.add(new AbilityDefinition(abilityType, config));
                     }
                 }
             }
-        } else if (abilitiesSection != null) {
-            System.out.println("Abilities section found but no AbilityManager provided");
         }
 
-        CustomItem item = new CustomItem(id, material, name, lore, cmd, abilities);
-        System.out.println("Created CustomItem: " + item.getId() + " -> " + item.material.name() + " with "
-                + abilities.size() + " abilities");
-        System.out.println("=== END CUSTOM ITEM FROM CONFIG DEBUG ===");
+        return fromDefinitions(id, material, name, lore, cmd, definitions, abilityManager);
+    }
+
+    /**
+     * Create an item from already-extracted settings, instantiating its abilities
+     * through the ability manager. Definitions whose type is unknown are dropped.
+     */
+    public static CustomItem fromDefinitions(String id, Material material, String displayName, List<String> lore,
+            Integer customModelData, List<AbilityDefinition> definitions, AbilityManager abilityManager) {
+        List<ItemAbility> abilities = new ArrayList<>();
+        List<AbilityDefinition> created = new ArrayList<>();
+        if (abilityManager != null) {
+            for (AbilityDefinition definition : definitions) {
+                ItemAbility ability = abilityManager.createAbility(definition.type(), definition.config());
+                if (ability != null) {
+                    abilities.add(ability);
+                    created.add(definition);
+                } else {
+                    abilityManager.getLogger().warning("Item " + id + ": failed to create ability of type "
+                            + definition.type());
+                }
+            }
+        }
+        return new CustomItem(id, material, displayName, lore, customModelData, abilities, created);
+    }
+
+    /**
+     * Parsed presentation and abilities of an item
+     */
+    private static final class Details {
+        private final String displayName;
+        private final List<String> lore;
+        private final List<ItemAbility> abilities;
+        private final List<AbilityDefinition> abilityDefinitions;
+        // Name and lore parsed from legacy '&' codes once, at compile time
+        private final Component displayNameComponent;
+        private final List<Component> loreComponents;
+        // Trigger event class -> abilities that respond to it, computed once per class
+        private final Map<Class<? extends Event>, ItemAbility[]> abilitiesByTrigger = new ConcurrentHashMap<>();
 
-        return item;
+        Details(String displayName, List<String> lore, List<ItemAbility> abilities,
+                List<AbilityDefinition> abilityDefinitions) {
+            this.displayName = displayName;
+            this.lore = lore != null ? lore : new ArrayList<>();
+            this.abilities = abilities != null ? List.copyOf(abilities) : List.of();
+            this.abilityDefinitions = List.copyOf(abilityDefinitions);
+            this.displayNameComponent = displayName != null
+                    ? LegacyComponentSerializer.legacyAmpersand().deserialize(displayName)
+                    : null;
+            List<Component> parsedLore = new ArrayList<>(this.lore.size());
+            for (String line : this.lore) {
+                parsedLore.add(LegacyComponentSerializer.legacyAmpersand().deserialize(line));
+            }
+            this.loreComponents = List.copyOf(parsedLore);
+
+            // Interactions are the only trigger today, so compile that table up front
+            abilitiesByTrigger.put(PlayerInteractEvent.class, compileAbilities(PlayerInteractEvent.class));
+        }
+
+        private ItemAbility[] compileAbilities(Class<? extends Event> eventClass) {
+            List<ItemAbility> matching = new ArrayList<>();
+            for (ItemAbility ability : abilities) {
+                if (ability.canTrigger(eventClass)) {
+                    matching.add(ability);
+                }
+            }
+            return matching.isEmpty() ? NO_ABILITIES : matching.toArray(NO_ABILITIES);
+        }
     }
 }
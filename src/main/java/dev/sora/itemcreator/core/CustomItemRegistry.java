@@ -1,62 +1,390 @@
 package dev.sora.itemcreator.core;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
+import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Nullable;
 
 import dev.sora.itemcreator.abilities.AbilityManager;
+import dev.sora.itemcreator.scheduling.TaskScheduler;
 
 public class CustomItemRegistry {
+    // Catalogs with fewer pending items than this compile on the calling thread
+    private static final int PARALLEL_THRESHOLD = 64;
+    private static final int MAX_COMPILE_THREADS = 4;
+    private static ForkJoinPool compilePool;
+
     private final Plugin plugin;
-    private final Map<String, CustomItem> items = new HashMap<>();
+    private final TaskScheduler tasks;
+    private final NamespacedKey idKey;
+    private final ItemHandles handles;
+    // The handle is stored next to the handle file's epoch, so handles from a lost mapping are ignored
+    private final NamespacedKey handleKey;
+    private final int handleEpoch;
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+    // Swapped in one write on load; never mutated once published
+    private volatile RegistrySnapshot snapshot = RegistrySnapshot.EMPTY;
     private AbilityManager abilityManager;
 
-    public CustomItemRegistry(Plugin plugin) {
+    public CustomItemRegistry(Plugin plugin, TaskScheduler tasks) {
         this.plugin = plugin;
+        this.tasks = tasks;
+        this.idKey = new NamespacedKey(plugin, "cid");
+        this.handles = new ItemHandles(new File(plugin.getDataFolder(), "handles.yml"));
+        handles.load();
+        this.handleKey = new NamespacedKey(plugin, "cidh");
+        this.handleEpoch = handles.getEpoch();
+    }
+
+    /**
+     * The PDC key custom item stacks are tagged with
+     */
+    public NamespacedKey getIdKey() {
+        return idKey;
+    }
+
+    /**
+     * The PDC key custom item stacks store their handle tag under: the handle
+     * file's epoch in the high half and the integer handle in the low half
+     */
+    public NamespacedKey getHandleKey() {
+        return handleKey;
+    }
+
+    /**
+     * The stable integer handle of an item id, assigned on first use
+     */
+    public int handleOf(String id) {
+        return handles.assign(id);
+    }
+
+    /**
+     * Tag a custom item's PDC with the handle of its id
+     */
+    public void writeHandle(PersistentDataContainer pdc, String id) {
+        pdc.set(handleKey, PersistentDataType.LONG, (long) handleEpoch << 32 | handles.assign(id));
+    }
+
+    /**
+     * A copy of the stack without its handle tag, i.e. how the same item looks
+     * when created before handles existed, or null if it has no handle tag.
+     * Recipes accept both forms so untouched stacks in containers still match.
+     */
+    public @Nullable ItemStack withoutHandle(ItemStack stack) {
+        if (!stack.hasItemMeta() || !stack.getPersistentDataContainer().has(handleKey))
+            return null;
+        ItemStack stripped = stack.clone();
+        stripped.editMeta(meta -> meta.getPersistentDataContainer().remove(handleKey));
+        return stripped;
     }
 
     public void setAbilityManager(AbilityManager abilityManager) {
         this.abilityManager = abilityManager;
     }
 
-    public void loadFromConfig(FileConfiguration cfg) {
-        items.clear();
+    /**
+     * Register a callback that runs after every load, e.g. to rebuild caches
+     * derived from the item definitions
+     */
+    public void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+    }
+
+    /**
+     * Build a snapshot of every item in the config without publishing it. Items
+     * whose section hash matches the previous snapshot reuse the old instance;
+     * only new or edited sections are compiled, in parallel for large catalogs.
+     * An item that fails to compile is left out and its error recorded in the
+     * snapshot rather than aborting the load. Touches no live server state, so
+     * it is safe to call off the main thread.
+     */
+    public RegistrySnapshot compile(ConfigurationSection cfg, RegistrySnapshot previous) {
+        Map<String, CustomItem> loaded = new LinkedHashMap<>();
+        Map<String, Long> hashes = new HashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        List<String> pendingIds = new ArrayList<>();
+        List<ConfigurationSection> pendingSections = new ArrayList<>();
+
         ConfigurationSection itemsSec = cfg.getConfigurationSection("items");
-        if (itemsSec == null)
-            return;
-        for (String id : itemsSec.getKeys(false)) {
-            CustomItem item = CustomItem.fromConfig(id, itemsSec.getConfigurationSection(id), abilityManager);
-            items.put(id, item);
+        if (itemsSec != null) {
+            for (String id : itemsSec.getKeys(false)) {
+                ConfigurationSection section = itemsSec.getConfigurationSection(id);
+                if (section == null) {
+                    errors.put(id, "not a section");
+                    continue;
+                }
+                long hash = ConfigHash.of(section);
+                hashes.put(id, hash);
+                CustomItem item = previous.get(id);
+                if (item != null && previous.hash(id) == hash) {
+                    loaded.put(id, item);
+                } else {
+                    // Keep the slot so the catalog order matches the file
+                    loaded.put(id, null);
+                    pendingIds.add(id);
+                    pendingSections.add(section);
+                }
+            }
         }
+
+        CustomItem[] compiled = new CustomItem[pendingIds.size()];
+        String[] failures = new String[pendingIds.size()];
+        IntConsumer compileOne = i -> {
+            try {
+                compiled[i] = CustomItem.fromConfig(pendingIds.get(i), pendingSections.get(i), abilityManager);
+            } catch (RuntimeException e) {
+                failures[i] = String.valueOf(e.getMessage());
+            }
+        };
+        if (compiled.length < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < compiled.length; i++) {
+                compileOne.accept(i);
+            }
+        } else {
+            compilePool().submit(() -> IntStream.range(0, compiled.length).parallel().forEach(compileOne)).join();
+        }
+
+        for (int i = 0; i < compiled.length; i++) {
+            String id = pendingIds.get(i);
+            if (compiled[i] != null) {
+                loaded.put(id, compiled[i]);
+            } else {
+                loaded.remove(id);
+                hashes.remove(id);
+                errors.put(id, failures[i]);
+            }
+        }
+        return new RegistrySnapshot(loaded, hashes, errors);
+    }
+
+    /**
+     * Build a snapshot of every item in the config and the given packs. Pack items
+     * are registered as {@code namespace:id} and only have their material resolved
+     * here; the rest of their definition is parsed on first use.
+     */
+    public RegistrySnapshot compile(ConfigurationSection cfg, List<ItemPack> packs, RegistrySnapshot previous) {
+        return withPacks(compile(cfg, previous), packs, previous);
+    }
+
+    /**
+     * Add the items of the given packs to an already compiled snapshot. Pack items
+     * whose section hash is unchanged keep their previous instance; ids that
+     * collide with an existing item are reported as errors.
+     */
+    public RegistrySnapshot withPacks(RegistrySnapshot base, List<ItemPack> packs, RegistrySnapshot previous) {
+        if (packs.isEmpty())
+            return base;
+        Map<String, CustomItem> loaded = new LinkedHashMap<>(base.items());
+        Map<String, Long> hashes = new HashMap<>();
+        for (String id : loaded.keySet()) {
+            hashes.put(id, base.hash(id));
+        }
+        Map<String, String> errors = new LinkedHashMap<>(base.errors());
+
+        for (ItemPack pack : packs) {
+            ConfigurationSection itemsSec = pack.config().getConfigurationSection("items");
+            if (itemsSec == null)
+                continue;
+            for (String key : itemsSec.getKeys(false)) {
+                String id = pack.namespace() + ":" + key;
+                ConfigurationSection section = itemsSec.getConfigurationSection(key);
+                if (section == null) {
+                    errors.put(id, "not a section");
+                    continue;
+                }
+                if (loaded.containsKey(id)) {
+                    errors.put(id, "duplicate item id");
+                    continue;
+                }
+                long hash = ConfigHash.of(section);
+                CustomItem item = previous.get(id);
+                if (item == null || previous.hash(id) != hash) {
+                    item = CustomItem.lazy(id, section, abilityManager);
+                }
+                loaded.put(id, item);
+                hashes.put(id, hash);
+            }
+        }
+        return new RegistrySnapshot(loaded, hashes, errors);
+    }
+
+    static synchronized ForkJoinPool compilePool() {
+        if (compilePool == null) {
+            int parallelism = Math.max(1, Math.min(MAX_COMPILE_THREADS,
+                    Runtime.getRuntime().availableProcessors() - 1));
+            compilePool = new ForkJoinPool(parallelism);
+        }
+        return compilePool;
+    }
+
+    /**
+     * Stop the compile worker threads, e.g. when the plugin is disabled
+     */
+    public static synchronized void shutdownCompilePool() {
+        if (compilePool != null) {
+            compilePool.shutdown();
+            compilePool = null;
+        }
+    }
+
+    /**
+     * Atomically replace the live items and notify reload listeners
+     */
+    public void publish(RegistrySnapshot next) {
+        snapshot = next.withHandles(handles);
+        tasks.runAsync(() -> {
+            try {
+                handles.saveIfDirty();
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not save item handles: " + e.getMessage());
+            }
+        });
+        for (Runnable listener : reloadListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * The current immutable set of items; stays consistent however long it is held
+     */
+    public RegistrySnapshot snapshot() {
+        return snapshot;
     }
 
     public Optional<CustomItem> get(String id) {
-        return Optional.ofNullable(items.get(id));
+        return Optional.ofNullable(snapshot.get(id));
     }
 
     public Collection<String> ids() {
-        return Collections.unmodifiableSet(items.keySet());
+        return snapshot.items().keySet();
+    }
+
+    /**
+     * Item ids starting with the prefix, ignoring case, in sorted order. Cheap
+     * and safe to call from any thread.
+     */
+    public List<String> completeIds(String prefix) {
+        return snapshot.idIndex().complete(prefix);
+    }
+
+    /**
+     * Items of the given material. Served from an index built at load time, so
+     * the cost is proportional to the result rather than the catalog.
+     */
+    public List<CustomItem> byMaterial(Material material) {
+        return snapshot.byMaterial(material);
+    }
+
+    /**
+     * Items with the given custom-model-data value
+     */
+    public List<CustomItem> byCustomModelData(int customModelData) {
+        return snapshot.byCustomModelData(customModelData);
+    }
+
+    /**
+     * Items with at least one ability of the given type, e.g. "flashbang"
+     */
+    public List<CustomItem> byAbilityType(String type) {
+        return snapshot.byAbilityType(type);
+    }
+
+    /**
+     * Whether any loaded custom item uses this material. Lets listeners drop
+     * vanilla items before touching their meta.
+     */
+    public boolean isCustomMaterial(@Nullable Material material) {
+        return material != null && snapshot.materials().contains(material);
     }
 
     public Optional<CustomItem> fromStack(ItemStack stack) {
-        if (stack == null)
-            return Optional.empty();
-        ItemMeta meta = stack.getItemMeta();
-        if (meta == null)
-            return Optional.empty();
-        String id = meta.getPersistentDataContainer().get(new NamespacedKey(plugin, "cid"), PersistentDataType.STRING);
-        if (id == null)
-            return Optional.empty();
-        return get(id);
+        return Optional.ofNullable(identify(stack));
+    }
+
+    /**
+     * Resolve the custom item a stack was created from, or null if it isn't one.
+     * Reads the integer handle through the stack's PDC view and looks it up in a
+     * flat array, so no ItemMeta copy or string hashing is needed; intended for
+     * per-event hot paths. Stacks created before handles existed, or under a lost
+     * handle file, resolve by their cid tag instead. Never modifies the stack, so
+     * it is safe from any thread; {@link #upgrade} gives such stacks a handle.
+     */
+    public @Nullable CustomItem identify(@Nullable ItemStack stack) {
+        RegistrySnapshot current = snapshot;
+        if (stack == null || !current.materials().contains(stack.getType()) || !stack.hasItemMeta())
+            return null;
+        var pdc = stack.getPersistentDataContainer();
+        Long tag = pdc.get(handleKey, PersistentDataType.LONG);
+        if (isCurrent(tag)) {
+            CustomItem item = current.byHandle((int) (long) tag);
+            if (item != null)
+                return item;
+        }
+
+        String id = pdc.get(idKey, PersistentDataType.STRING);
+        return id != null ? current.get(id) : null;
+    }
+
+    /**
+     * Give a custom item stack that only carries its cid tag, or a handle from a
+     * lost handle file, the current handle. Keys of the older per-epoch format
+     * (cidh_<epoch>) are dropped so the stack matches fresh ones again. Stacks
+     * that already have a current handle, or aren't custom items, are left
+     * alone. Must run on the thread that owns the stack.
+     *
+     * @return true if the stack was rewritten
+     */
+    public boolean upgrade(@Nullable ItemStack stack) {
+        RegistrySnapshot current = snapshot;
+        if (stack == null || !current.materials().contains(stack.getType()) || !stack.hasItemMeta())
+            return false;
+        var view = stack.getPersistentDataContainer();
+        if (isCurrent(view.get(handleKey, PersistentDataType.LONG)))
+            return false;
+        String id = view.get(idKey, PersistentDataType.STRING);
+        if (id == null || current.get(id) == null)
+            return false;
+
+        stack.editMeta(meta -> {
+            PersistentDataContainer pdc = meta.getPersistentDataContainer();
+            for (NamespacedKey key : pdc.getKeys()) {
+                if (key.getNamespace().equals(handleKey.getNamespace()) && key.getKey().startsWith("cidh_")) {
+                    pdc.remove(key);
+                }
+            }
+            writeHandle(pdc, id);
+        });
+        return true;
+    }
+
+    private boolean isCurrent(@Nullable Long tag) {
+        return tag != null && (int) (tag >>> 32) == handleEpoch;
+    }
+
+    /**
+     * Read the raw cid tag of a stack without resolving it against the registry
+     */
+    public @Nullable String readId(@Nullable ItemStack stack) {
+        if (stack == null || !stack.hasItemMeta())
+            return null;
+        return stack.getPersistentDataContainer().get(idKey, PersistentDataType.STRING);
     }
 }
@@ -1,5 +1,10 @@
 package dev.sora.itemcreator.core;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
@@ -11,9 +16,15 @@ public class ItemFactory {
     private final Plugin plugin;
     private final CustomItemRegistry registry;
 
+    // Compiled prototype stacks, cloned on every create() instead of rebuilding meta
+    private final Map<String, Prototype> prototypes = new ConcurrentHashMap<>();
+    private final LongAdder prototypeHits = new LongAdder();
+    private final LongAdder prototypeBuilds = new LongAdder();
+
     public ItemFactory(Plugin plugin, CustomItemRegistry registry) {
         this.plugin = plugin;
         this.registry = registry;
+        registry.addReloadListener(this::rebuildPrototypes);
     }
 
     public Plugin getPlugin() { return plugin; }
@@ -21,7 +32,61 @@ public class ItemFactory {
     public CustomItemRegistry getRegistry() { return registry; }
 
     public ItemStack create(String id) {
-        return registry.get(id).map(i -> i.toItemStack(this)).orElse(null);
+        return registry.get(id).map(this::create).orElse(null);
+    }
+
+    /**
+     * Create a fresh stack for the given item by cloning its compiled prototype
+     */
+    public ItemStack create(CustomItem item) {
+        return prototypeFor(item).clone();
+    }
+
+    /**
+     * Compile prototypes for new or changed items and drop those of removed ones.
+     * Lazily loaded pack items that haven't been used yet are skipped; their
+     * prototype is built on the first create(). Called automatically whenever
+     * the registry reloads.
+     */
+    public void rebuildPrototypes() {
+        RegistrySnapshot snapshot = registry.snapshot();
+        prototypes.values().removeIf(prototype -> snapshot.get(prototype.source().getId()) != prototype.source());
+        for (CustomItem item : snapshot.items().values()) {
+            if (item.isMaterialized() && !prototypes.containsKey(item.getId())) {
+                prototypeFor(item);
+            }
+        }
+    }
+
+    private ItemStack prototypeFor(CustomItem item) {
+        Prototype cached = prototypes.get(item.getId());
+        // Identity check: a reloaded registry hands out new CustomItem instances
+        if (cached != null && cached.source() == item) {
+            prototypeHits.increment();
+            return cached.stack();
+        }
+        ItemStack stack = item.toItemStack(this);
+        prototypes.put(item.getId(), new Prototype(item, stack));
+        prototypeBuilds.increment();
+        return stack;
+    }
+
+    /**
+     * Number of create() calls served from a cached prototype
+     */
+    public long getPrototypeHits() {
+        return prototypeHits.sum();
+    }
+
+    /**
+     * Number of times a prototype had to be compiled from its CustomItem
+     */
+    public long getPrototypeBuilds() {
+        return prototypeBuilds.sum();
+    }
+
+    public int getPrototypeCount() {
+        return prototypes.size();
     }
 
     public ShapedRecipe shapedRecipe(String key, ItemStack result, String... shape) {
@@ -30,11 +95,22 @@ public class ItemFactory {
         return recipe;
     }
 
-    public static RecipeChoice.ExactChoice exact(ItemStack stack) {
-        return new RecipeChoice.ExactChoice(stack);
+    /**
+     * Exact recipe choice for a stack. Custom items also match their form
+     * without a handle tag, as carried by stacks made before handles existed
+     * that haven't been touched since.
+     */
+    public RecipeChoice.ExactChoice exact(ItemStack stack) {
+        ItemStack withoutHandle = registry.withoutHandle(stack);
+        if (withoutHandle == null)
+            return new RecipeChoice.ExactChoice(stack);
+        return new RecipeChoice.ExactChoice(List.of(stack, withoutHandle));
     }
 
     public static RecipeChoice.MaterialChoice mat(Material... materials) {
         return new RecipeChoice.MaterialChoice(materials);
     }
+
+    private record Prototype(CustomItem source, ItemStack stack) {
+    }
 }
@@ -0,0 +1,96 @@
+package dev.sora.itemcreator.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Stable small integer handles for item ids, persisted in handles.yml so a
+ * stack tagged with a handle resolves to the same item after a restart.
+ * Handles are never reused, even after the item is removed.
+ * <p>
+ * The file also stores a random epoch that is written next to the handle on
+ * every stack. If the file is lost the epoch changes, and stacks with
+ * handles from the old file fall back to their cid tag instead of resolving
+ * to whatever item now owns that number.
+ */
+public class ItemHandles {
+    private final File file;
+    private final Map<String, Integer> handles = new HashMap<>();
+    private int epoch;
+    private int nextHandle;
+    private boolean dirty;
+
+    public ItemHandles(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Read the mapping file, starting a new epoch if it is missing or unreadable
+     */
+    public synchronized void load() {
+        handles.clear();
+        nextHandle = 0;
+        YamlConfiguration cfg = new YamlConfiguration();
+        if (file.isFile()) {
+            try {
+                cfg.load(file);
+            } catch (Exception e) {
+                cfg = new YamlConfiguration();
+            }
+        }
+        if (!cfg.isInt("epoch")) {
+            epoch = ThreadLocalRandom.current().nextInt() & 0x7fffffff;
+            dirty = true;
+            return;
+        }
+        epoch = cfg.getInt("epoch");
+        // The list index is the handle; unreadable entries keep their slot
+        List<?> ids = cfg.getList("handles", List.of());
+        for (int handle = 0; handle < ids.size(); handle++) {
+            if (ids.get(handle) instanceof String id) {
+                handles.putIfAbsent(id, handle);
+            }
+        }
+        nextHandle = ids.size();
+        dirty = false;
+    }
+
+    public synchronized int getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * The handle of the given id, assigning the next free one if it has none
+     */
+    public synchronized int assign(String id) {
+        Integer handle = handles.get(id);
+        if (handle != null)
+            return handle;
+        int assigned = nextHandle++;
+        handles.put(id, assigned);
+        dirty = true;
+        return assigned;
+    }
+
+    /**
+     * Write the mapping if handles were assigned since the last save
+     */
+    public synchronized void saveIfDirty() throws IOException {
+        if (!dirty)
+            return;
+        String[] ids = new String[nextHandle];
+        handles.forEach((id, handle) -> ids[handle] = id);
+        YamlConfiguration cfg = new YamlConfiguration();
+        cfg.set("epoch", epoch);
+        cfg.set("handles", Arrays.asList(ids));
+        cfg.save(file);
+        dirty = false;
+    }
+}
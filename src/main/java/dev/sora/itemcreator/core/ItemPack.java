@@ -0,0 +1,14 @@
+package dev.sora.itemcreator.core;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * One parsed file from the items/ directory. Its items are registered as
+ * {@code namespace:id}, where the namespace is the file name without extension.
+ *
+ * @param namespace   Prefix for every item id in the pack
+ * @param config      The parsed file
+ * @param contentHash Hash of the raw file contents
+ */
+public record ItemPack(String namespace, YamlConfiguration config, long contentHash) {
+}
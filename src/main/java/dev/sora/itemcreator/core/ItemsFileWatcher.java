@@ -0,0 +1,132 @@
+package dev.sora.itemcreator.core;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+import dev.sora.itemcreator.ItemCreatorPlugin;
+
+/**
+ * Watches the plugin data folder and the items/ pack directory and reloads the
+ * catalog after it has been quiet for the debounce period. The new files are parsed and compiled on the watcher
+ * thread; only a file that loads cleanly is handed to {@link CatalogReloader}
+ * for the usual main-thread commit, so a bad edit never touches the live catalog.
+ */
+public class ItemsFileWatcher implements Runnable {
+    private static final String ITEMS_FILE = "items.yml";
+
+    private final ItemCreatorPlugin plugin;
+    private final long debounceMillis;
+    private volatile boolean running;
+    private WatchService watchService;
+    private Path packsDirectory;
+    private Thread thread;
+
+    public ItemsFileWatcher(ItemCreatorPlugin plugin, long debounceMillis) {
+        this.plugin = plugin;
+        this.debounceMillis = Math.max(50, debounceMillis);
+    }
+
+    public void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        plugin.getDataFolder().toPath().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        File packs = plugin.getCatalogReloader().getPacksDirectory();
+        if (packs.isDirectory()) {
+            packsDirectory = packs.toPath();
+            packsDirectory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        }
+        running = true;
+        thread = new Thread(this, "ItemCreator-FileWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException ignored) {
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        long lastChange = -1;
+        try {
+            while (running) {
+                // Block indefinitely while idle; once a change is pending, wake up to check the quiet period
+                WatchKey key = lastChange < 0 ? watchService.take()
+                        : watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path path && isCatalogFile(key, path)) {
+                            lastChange = System.currentTimeMillis();
+                        }
+                    }
+                    key.reset();
+                }
+
+                if (lastChange >= 0 && System.currentTimeMillis() - lastChange >= debounceMillis) {
+                    lastChange = apply() ? -1 : System.currentTimeMillis();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    private boolean isCatalogFile(WatchKey key, Path name) {
+        if (key.watchable().equals(packsDirectory))
+            return name.toString().endsWith(".yml");
+        return ITEMS_FILE.equals(name.toString());
+    }
+
+    /**
+     * Validate and apply the current files
+     *
+     * @return false if the change should be retried later
+     */
+    private boolean apply() {
+        CatalogReloader reloader = plugin.getCatalogReloader();
+        CatalogReloader.CompiledCatalog catalog;
+        try {
+            catalog = reloader.compile();
+        } catch (Exception e) {
+            plugin.getLogger().warning("Item files changed but could not be loaded, keeping current items: "
+                    + e.getMessage());
+            return true;
+        }
+
+        // Saved without changes (or already applied by /itemcreator reload)
+        if (catalog.contentHash() == reloader.getCommittedHash())
+            return true;
+
+        if (reloader.isReloading())
+            return false;
+
+        reloader.commitAsync(catalog).whenComplete((report, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("Auto-reload of items failed: " + error.getMessage());
+                return;
+            }
+            plugin.getLogger().info("Auto-reloaded items: items " + report.itemChanges() + ", bundles "
+                    + report.bundleChanges() + " (commit " + report.commitMillis() + "ms)");
+        });
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package dev.sora.itemcreator.core;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable sorted array of strings answering case-insensitive prefix queries
+ * with two binary searches, so a lookup costs O(log n + result) instead of
+ * filtering every entry. Built once per registry load.
+ */
+public final class PrefixIndex {
+    public static final PrefixIndex EMPTY = new PrefixIndex(List.of());
+
+    // Lowercased keys, sorted; values[i] is the original string for keys[i]
+    private final String[] keys;
+    private final List<String> values;
+
+    public PrefixIndex(Collection<String> entries) {
+        String[] sorted = entries.toArray(new String[0]);
+        Arrays.sort(sorted, Comparator.comparing((String entry) -> entry.toLowerCase(Locale.ROOT))
+                .thenComparing(Comparator.naturalOrder()));
+        this.keys = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            keys[i] = sorted[i].toLowerCase(Locale.ROOT);
+        }
+        this.values = List.of(sorted);
+    }
+
+    /**
+     * Every entry starting with the prefix, ignoring case, in sorted order. The
+     * returned list is a view and must not be modified.
+     */
+    public List<String> complete(String prefix) {
+        String lower = prefix.toLowerCase(Locale.ROOT);
+        int from = lowerBound(lower);
+        // The range ends at the first key sorting after every string with this prefix
+        int to = lower.isEmpty() ? keys.length
+                : lowerBound(lower.substring(0, lower.length() - 1) + (char) (lower.charAt(lower.length() - 1) + 1));
+        return values.subList(from, to);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -1,17 +1,16 @@
 package dev.sora.itemcreator.core;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.RecipeChoice;
 import org.bukkit.inventory.ShapedRecipe;
 import org.bukkit.inventory.ShapelessRecipe;
 import org.bukkit.plugin.Plugin;
@@ -20,8 +19,10 @@ public class RecipeRegistrar {
     private final Plugin plugin;
     private final CustomItemRegistry registry;
     private final ItemFactory factory;
-    private final Map<String, BundleInfo> bundlesByBoxId = new HashMap<>();
-    private final Set<NamespacedKey> registeredRecipes = new HashSet<>();
+    // Read by interact handlers on any region thread while a reload swaps entries
+    private final Map<String, BundleInfo> bundlesByBoxId = new ConcurrentHashMap<>();
+    // Bundle id -> what was registered for it on the last sync
+    private final Map<String, RegisteredBundle> registeredBundles = new HashMap<>();
 
     public RecipeRegistrar(Plugin plugin, CustomItemRegistry registry, ItemFactory factory) {
         this.plugin = plugin;
@@ -29,37 +30,117 @@ public class RecipeRegistrar {
         this.factory = factory;
     }
 
-    public void registerAll(FileConfiguration cfg) {
-        bundlesByBoxId.clear();
+    /**
+     * Register every bundle in the config from scratch
+     */
+    public void registerAll(ConfigurationSection cfg) {
+        unregisterAll();
+        sync(cfg);
+    }
+
+    /**
+     * Bring registered bundle recipes in line with the config, touching only
+     * bundles whose section or referenced items changed. Clients are sent the
+     * updated recipe book once, and only if something changed.
+     */
+    public ChangeCounts sync(ConfigurationSection cfg) {
         ConfigurationSection bundles = cfg.getConfigurationSection("bundles");
+        Map<String, Long> fingerprints = new HashMap<>();
         if (bundles != null) {
             for (String id : bundles.getKeys(false)) {
-                registerBundle(id, bundles.getConfigurationSection(id));
+                fingerprints.put(id, fingerprint(bundles.getConfigurationSection(id)));
+            }
+        }
+
+        int removed = 0;
+        for (String id : new ArrayList<>(registeredBundles.keySet())) {
+            if (!fingerprints.containsKey(id)) {
+                unregisterBundle(id);
+                removed++;
             }
         }
+
+        int added = 0;
+        int changed = 0;
+        for (Map.Entry<String, Long> entry : fingerprints.entrySet()) {
+            String id = entry.getKey();
+            RegisteredBundle existing = registeredBundles.get(id);
+            if (existing != null && existing.fingerprint() == entry.getValue())
+                continue;
+            if (existing != null) {
+                unregisterBundle(id);
+                changed++;
+            } else {
+                added++;
+            }
+            registerBundle(id, bundles.getConfigurationSection(id), entry.getValue());
+        }
+
+        ChangeCounts counts = new ChangeCounts(added, changed, removed);
+        if (!counts.isEmpty()) {
+            plugin.getServer().updateRecipes();
+        }
+        return counts;
     }
 
     public void unregisterAll() {
-        // Remove all tracked recipes from the server
-        for (NamespacedKey key : registeredRecipes) {
-            plugin.getServer().removeRecipe(key);
+        // Remove all tracked recipes from the server, resending the recipe book once
+        boolean removed = false;
+        for (RegisteredBundle bundle : registeredBundles.values()) {
+            for (NamespacedKey key : bundle.recipeKeys()) {
+                removed |= plugin.getServer().removeRecipe(key, false);
+            }
         }
-        registeredRecipes.clear();
+        if (removed) {
+            plugin.getServer().updateRecipes();
+        }
+        registeredBundles.clear();
         bundlesByBoxId.clear();
     }
 
-    private void registerBundle(String id, ConfigurationSection sec) {
+    /**
+     * A bundle's recipes embed the box and unit stacks, so its fingerprint covers
+     * the items it references as well as its own section
+     */
+    private long fingerprint(ConfigurationSection sec) {
+        if (sec == null)
+            return 0;
+        RegistrySnapshot items = registry.snapshot();
+        String itemId = sec.getString("item", "");
+        long unitHash = itemId.startsWith("custom:") ? items.hash(itemId.substring("custom:".length())) : 0;
+        long boxHash = items.hash(sec.getString("box-id", ""));
+        return ConfigHash.combine(ConfigHash.of(sec), unitHash, boxHash);
+    }
+
+    private void unregisterBundle(String id) {
+        RegisteredBundle bundle = registeredBundles.remove(id);
+        if (bundle == null)
+            return;
+        for (NamespacedKey key : bundle.recipeKeys()) {
+            plugin.getServer().removeRecipe(key, false);
+        }
+        if (bundle.boxId() != null) {
+            bundlesByBoxId.remove(bundle.boxId());
+        }
+    }
+
+    private void registerBundle(String id, ConfigurationSection sec, long fingerprint) {
+        // Remember the bundle even if it can't be registered, so an unchanged
+        // broken entry isn't retried on every reload
+        List<NamespacedKey> keys = new ArrayList<>();
+        String boxId = sec != null ? sec.getString("box-id") : null;
+        registeredBundles.put(id, new RegisteredBundle(fingerprint, boxId, keys));
+
         if (sec == null)
             return;
         String itemId = sec.getString("item");
         int count = sec.getInt("count", 9);
-        String boxId = sec.getString("box-id");
 
         ItemStack unit = parseItem(itemId);
         if (unit == null)
             return;
 
-        ItemStack box = registry.get(boxId).map(i -> i.toItemStack(factory)).orElse(null);
+        ItemStack box = factory.create(boxId);
         if (box == null)
             return;
 
@@ -67,18 +148,18 @@ public class RecipeRegistrar {
         NamespacedKey bundleKey = new NamespacedKey(plugin, "bundle_" + id);
         ShapedRecipe shaped = new ShapedRecipe(bundleKey, box.clone());
         shaped.shape("AAA", "AAA", "AAA");
-        shaped.setIngredient('A', new RecipeChoice.ExactChoice(unit));
-        plugin.getServer().addRecipe(shaped);
-        registeredRecipes.add(bundleKey);
+        shaped.setIngredient('A', factory.exact(unit));
+        plugin.getServer().addRecipe(shaped, false);
+        keys.add(bundleKey);
 
         // Unpack: box -> count x unit
         ItemStack unpackResult = unit.clone();
         unpackResult.setAmount(count);
         NamespacedKey unbundleKey = new NamespacedKey(plugin, "unbundle_" + id);
         ShapelessRecipe shapeless = new ShapelessRecipe(unbundleKey, unpackResult);
-        shapeless.addIngredient(new RecipeChoice.ExactChoice(box));
-        plugin.getServer().addRecipe(shapeless);
-        registeredRecipes.add(unbundleKey);
+        shapeless.addIngredient(factory.exact(box));
+        plugin.getServer().addRecipe(shapeless, false);
+        keys.add(unbundleKey);
 
         // Keep for runtime lookups (unboxing on right-click)
         bundlesByBoxId.put(boxId, new BundleInfo(unit.clone(), count));
@@ -103,6 +184,9 @@ public class RecipeRegistrar {
         return Optional.ofNullable(bundlesByBoxId.get(boxId));
     }
 
+    private record RegisteredBundle(long fingerprint, String boxId, List<NamespacedKey> recipeKeys) {
+    }
+
     public static class BundleInfo {
         private final ItemStack unit;
         private final int count;
@@ -0,0 +1,199 @@
+package dev.sora.itemcreator.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.Material;
+
+/**
+ * Immutable view of every loaded custom item. A new snapshot is built off to
+ * the side on each load and published by {@link CustomItemRegistry} in a
+ * single volatile write, so readers never see a partial registry.
+ */
+public final class RegistrySnapshot {
+    public static final RegistrySnapshot EMPTY = new RegistrySnapshot(Map.of(), Map.of(), Map.of());
+
+    private final Map<String, CustomItem> items;
+    // Content hash of each item's config section, for incremental reloads
+    private final Map<String, Long> hashes;
+    private final Set<Material> materials;
+    // Secondary indexes, built once per snapshot; lists are unmodifiable and in catalog order
+    private final Map<Material, List<CustomItem>> byMaterial;
+    private final Map<Integer, List<CustomItem>> byModelData;
+    private final Map<String, List<CustomItem>> byAbilityType;
+    private final PrefixIndex idIndex;
+    // Item id -> why it failed to compile; such items are absent from the snapshot
+    private final Map<String, String> errors;
+    // Indexed by item handle; empty until the registry assigns handles on publish
+    private final CustomItem[] byHandle;
+
+    public RegistrySnapshot(Map<String, CustomItem> items, Map<String, Long> hashes) {
+        this(items, hashes, Map.of());
+    }
+
+    public RegistrySnapshot(Map<String, CustomItem> items, Map<String, Long> hashes, Map<String, String> errors) {
+        this.items = Collections.unmodifiableMap(new LinkedHashMap<>(items));
+        this.hashes = Map.copyOf(hashes);
+        this.errors = Collections.unmodifiableMap(new LinkedHashMap<>(errors));
+
+        Map<Material, List<CustomItem>> materialIndex = new EnumMap<>(Material.class);
+        Map<Integer, List<CustomItem>> modelDataIndex = new HashMap<>();
+        Map<String, List<CustomItem>> abilityIndex = new HashMap<>();
+        for (CustomItem item : this.items.values()) {
+            materialIndex.computeIfAbsent(item.getMaterial(), k -> new ArrayList<>()).add(item);
+            if (item.getCustomModelData() != null) {
+                modelDataIndex.computeIfAbsent(item.getCustomModelData(), k -> new ArrayList<>()).add(item);
+            }
+            // An item with two abilities of one type is listed once
+            for (String type : new LinkedHashSet<>(item.getAbilityTypes())) {
+                abilityIndex.computeIfAbsent(type, k -> new ArrayList<>()).add(item);
+            }
+        }
+        this.byMaterial = freeze(materialIndex);
+        this.byModelData = freeze(modelDataIndex);
+        this.byAbilityType = freeze(abilityIndex);
+        this.idIndex = new PrefixIndex(this.items.keySet());
+
+        Set<Material> usedMaterials = EnumSet.noneOf(Material.class);
+        usedMaterials.addAll(materialIndex.keySet());
+        this.materials = Collections.unmodifiableSet(usedMaterials);
+        this.byHandle = new CustomItem[0];
+    }
+
+    private RegistrySnapshot(RegistrySnapshot source, CustomItem[] byHandle) {
+        this.items = source.items;
+        this.hashes = source.hashes;
+        this.errors = source.errors;
+        this.materials = source.materials;
+        this.byMaterial = source.byMaterial;
+        this.byModelData = source.byModelData;
+        this.byAbilityType = source.byAbilityType;
+        this.idIndex = source.idIndex;
+        this.byHandle = byHandle;
+    }
+
+    private static <K> Map<K, List<CustomItem>> freeze(Map<K, List<CustomItem>> index) {
+        index.replaceAll((key, list) -> List.copyOf(list));
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Copy of this snapshot that can resolve items by handle, assigning handles
+     * to items that don't have one yet
+     */
+    public RegistrySnapshot withHandles(ItemHandles handles) {
+        int[] assigned = new int[items.size()];
+        int size = 0;
+        int i = 0;
+        for (String id : items.keySet()) {
+            assigned[i] = handles.assign(id);
+            size = Math.max(size, assigned[i] + 1);
+            i++;
+        }
+        CustomItem[] table = new CustomItem[size];
+        i = 0;
+        for (CustomItem item : items.values()) {
+            table[assigned[i++]] = item;
+        }
+        return new RegistrySnapshot(this, table);
+    }
+
+    public CustomItem get(String id) {
+        return items.get(id);
+    }
+
+    /**
+     * The item with the given handle, or null if no loaded item has it
+     */
+    public CustomItem byHandle(int handle) {
+        return handle >= 0 && handle < byHandle.length ? byHandle[handle] : null;
+    }
+
+    public Map<String, CustomItem> items() {
+        return items;
+    }
+
+    /**
+     * Content hash of the item's config section, or 0 if it isn't loaded
+     */
+    public long hash(String id) {
+        Long hash = hashes.get(id);
+        return hash != null ? hash : 0;
+    }
+
+    /**
+     * Every material used by at least one item
+     */
+    public Set<Material> materials() {
+        return materials;
+    }
+
+    /**
+     * Sorted prefix index over the item ids, for tab completion
+     */
+    public PrefixIndex idIndex() {
+        return idIndex;
+    }
+
+    /**
+     * Items of the given material, in catalog order
+     */
+    public List<CustomItem> byMaterial(Material material) {
+        return byMaterial.getOrDefault(material, List.of());
+    }
+
+    /**
+     * Items with the given custom-model-data value, in catalog order
+     */
+    public List<CustomItem> byCustomModelData(int customModelData) {
+        return byModelData.getOrDefault(customModelData, List.of());
+    }
+
+    /**
+     * Items with at least one ability of the given type, in catalog order
+     */
+    public List<CustomItem> byAbilityType(String type) {
+        return byAbilityType.getOrDefault(type, List.of());
+    }
+
+    /**
+     * Items that were defined but failed to compile, with the reason
+     */
+    public Map<String, String> errors() {
+        return errors;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Count items added, changed or removed relative to an older snapshot
+     */
+    public ChangeCounts diff(RegistrySnapshot previous) {
+        int added = 0;
+        int changed = 0;
+        for (String id : items.keySet()) {
+            if (!previous.items.containsKey(id)) {
+                added++;
+            } else if (previous.get(id) != get(id)) {
+                changed++;
+            }
+        }
+        int removed = 0;
+        for (String id : previous.items.keySet()) {
+            if (!items.containsKey(id)) {
+                removed++;
+            }
+        }
+        return new ChangeCounts(added, changed, removed);
+    }
+}
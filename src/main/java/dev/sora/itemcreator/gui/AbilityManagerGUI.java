@@ -17,13 +17,14 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * GUI for managing item abilities
  */
 public class AbilityManagerGUI implements Listener {
     private final ItemFactory itemFactory;
-    private final Map<UUID, AbilityEditSession> activeSessions = new HashMap<>();
+    private final Map<UUID, AbilityEditSession> activeSessions = new ConcurrentHashMap<>();
     
     public AbilityManagerGUI(ItemFactory itemFactory) {
         this.itemFactory = itemFactory;
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
@@ -16,11 +17,18 @@ import org.bukkit.inventory.RecipeChoice;
 import org.bukkit.inventory.ShapedRecipe;
 import org.bukkit.inventory.ShapelessRecipe;
 
+import dev.sora.itemcreator.ItemCreatorPlugin;
+import dev.sora.itemcreator.core.CatalogReloader;
 import dev.sora.itemcreator.core.ItemFactory;
 
 public class RecipeCreator {
 
-    public static RecipeCreationResult createRecipe(
+    /**
+     * Create and register the recipe. Custom outputs are saved to items.yml and
+     * the catalog is reloaded first, so the returned future completes on the
+     * global region once that reload has committed.
+     */
+    public static CompletableFuture<RecipeCreationResult> createRecipe(
             RecipeCreatorGUI gui,
             String recipeId,
             String customName,
@@ -34,7 +42,8 @@ public class RecipeCreator {
         try {
             if (useVanillaItem != null && useVanillaItem) {
                 // Use vanilla item - no custom item creation needed
-                return createAndRegisterVanillaRecipe(gui, recipeId, outputAmount, factory);
+                return CompletableFuture.completedFuture(
+                        createAndRegisterVanillaRecipe(gui, recipeId, outputAmount, factory));
             } else {
                 // Create a custom item
                 String outputItemId = recipeId + "_output";
@@ -69,18 +78,22 @@ public class RecipeCreator {
                         outputItemId, baseMaterial, customName, loreLines, customModelData, isPlaceable, factory);
 
                 if (!itemResult.isSuccess()) {
-                    return itemResult;
+                    return CompletableFuture.completedFuture(itemResult);
                 }
 
-                // Reload the registry to include the new item
-                reloadItemRegistry(factory);
-
-                // Create and register the recipe
-                return createAndRegisterCustomRecipe(gui, recipeId, outputItemId, outputAmount, factory);
+                // Reload the registry to include the new item, then create and register the recipe
+                return reloadItemRegistry(factory).handle((report, error) -> {
+                    if (error != null) {
+                        return RecipeCreationResult.failure("Item saved, but reloading items failed: "
+                                + error.getMessage());
+                    }
+                    return createAndRegisterCustomRecipe(gui, recipeId, outputItemId, outputAmount, factory);
+                });
             }
 
         } catch (Exception e) {
-            return RecipeCreationResult.failure("Error creating recipe: " + e.getMessage());
+            return CompletableFuture.completedFuture(
+                    RecipeCreationResult.failure("Error creating recipe: " + e.getMessage()));
         }
     }
 
@@ -147,26 +160,25 @@ public class RecipeCreator {
         }
     }
 
-    private static void reloadItemRegistry(ItemFactory factory) {
-        try {
-            factory.getPlugin().getLogger().info("=== REGISTRY RELOAD DEBUG ===");
-            File itemsFile = new File(factory.getPlugin().getDataFolder(), "items.yml");
-            FileConfiguration config = YamlConfiguration.loadConfiguration(itemsFile);
+    private static CompletableFuture<CatalogReloader.ReloadReport> reloadItemRegistry(ItemFactory factory) {
+        if (!(factory.getPlugin() instanceof ItemCreatorPlugin plugin)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("ItemCreator plugin not available"));
+        }
 
-            // Get the registry and reload it
-            // We'll need to add a reload method to CustomItemRegistry
-            if (factory.getPlugin() instanceof dev.sora.itemcreator.ItemCreatorPlugin plugin) {
-                factory.getPlugin().getLogger().info("Reloading item registry from config...");
-                plugin.getRegistry().loadFromConfig(config);
-                factory.getPlugin().getLogger()
-                        .info("Registry reload completed. Available items: " + plugin.getRegistry().ids());
+        // Reload through the catalog reloader so item packs and bundles stay loaded; it compiles
+        // off-thread, commits on the global region and refuses to overlap another reload
+        factory.getPlugin().getLogger().info("Reloading item registry from config...");
+        return plugin.getCatalogReloader().reloadAsync(null).whenComplete((report, error) -> {
+            if (error != null) {
+                factory.getPlugin().getLogger().warning("Failed to reload item registry: " + error.getMessage());
+                return;
             }
-            factory.getPlugin().getLogger().info("=== END REGISTRY RELOAD DEBUG ===");
-        } catch (Exception e) {
-            // Log error but don't fail completely
-            factory.getPlugin().getLogger().warning("Failed to reload item registry: " + e.getMessage());
-            e.printStackTrace();
-        }
+            factory.getPlugin().getLogger().info("Registry reload completed in "
+                    + (report.readMillis() + report.parseMillis() + report.compileMillis() + report.commitMillis())
+                    + "ms (read " + report.readMillis() + "ms, parse " + report.parseMillis() + "ms, compile "
+                    + report.compileMillis() + "ms, commit " + report.commitMillis() + "ms). Available items: "
+                    + plugin.getRegistry().ids());
+        });
     }
 
     private static RecipeCreationResult createAndRegisterCustomRecipe(
@@ -286,7 +298,7 @@ public class RecipeCreator {
                         rowPattern.append(existing);
                     } else {
                         itemToChar.put(item.clone(), currentChar);
-                        ingredients.put(currentChar, new RecipeChoice.ExactChoice(item));
+                        ingredients.put(currentChar, factory.exact(item));
                         rowPattern.append(currentChar);
                         currentChar++;
                     }
@@ -317,7 +329,7 @@ public class RecipeCreator {
 
         for (ItemStack item : grid.values()) {
             if (item != null && item.getType() != Material.AIR) {
-                recipe.addIngredient(new RecipeChoice.ExactChoice(item));
+                recipe.addIngredient(factory.exact(item));
             }
         }
 
@@ -20,6 +20,7 @@ import org.jetbrains.annotations.NotNull;
 
 import dev.sora.itemcreator.core.CustomItemRegistry;
 import dev.sora.itemcreator.core.ItemFactory;
+import dev.sora.itemcreator.scheduling.TaskScheduler;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 
@@ -27,6 +28,7 @@ public class RecipeCreatorGUI implements InventoryHolder, Listener {
     private final Player player;
     private final CustomItemRegistry registry;
     private final ItemFactory factory;
+    private final TaskScheduler tasks;
     private final Inventory inventory;
     private final Map<Integer, ItemStack> craftingGrid = new HashMap<>();
     private boolean isShapedRecipe = true;
@@ -42,10 +44,11 @@ public class RecipeCreatorGUI implements InventoryHolder, Listener {
     private static final int CANCEL_SLOT = 45;
     private static final int METADATA_SLOT = 49;
 
-    public RecipeCreatorGUI(Player player, CustomItemRegistry registry, ItemFactory factory) {
+    public RecipeCreatorGUI(Player player, CustomItemRegistry registry, ItemFactory factory, TaskScheduler tasks) {
         this.player = player;
         this.registry = registry;
         this.factory = factory;
+        this.tasks = tasks;
         this.inventory = Bukkit.createInventory(this, 54, Component.text("Recipe Creator", NamedTextColor.DARK_PURPLE));
         setupGUI();
     }
@@ -209,14 +212,14 @@ public class RecipeCreatorGUI implements InventoryHolder, Listener {
     private void handleCraftingGridClick(InventoryClickEvent event) {
         // Allow normal item placement/removal in crafting grid
         // Store the state for recipe creation
-        Bukkit.getScheduler().runTaskLater(factory.getPlugin(), () -> {
+        tasks.runForLater(player, () -> {
             updateCraftingGrid();
         }, 1L);
     }
 
     private void handleOutputSlotClick(InventoryClickEvent event) {
         // Allow output item placement
-        Bukkit.getScheduler().runTaskLater(factory.getPlugin(), () -> {
+        tasks.runForLater(player, () -> {
             outputItem = inventory.getItem(OUTPUT_SLOT);
             if (outputItem != null) {
                 player.sendMessage(Component.text("Output item set!", NamedTextColor.GREEN));
@@ -287,7 +290,7 @@ public class RecipeCreatorGUI implements InventoryHolder, Listener {
 
     private void startMetadataInput() {
         // This will be handled by a separate chat listener system
-        RecipeMetadataInput.startInput(player, this, factory);
+        RecipeMetadataInput.startInput(player, this, factory, tasks);
     }
 
     // Getters for the metadata input system
@@ -229,7 +229,7 @@ public class RecipeManagerGUI implements InventoryHolder, Listener {
             player.closeInventory();
             // Open recipe creator
             ItemCreatorPlugin plugin = (ItemCreatorPlugin) factory.getPlugin();
-            RecipeCreatorGUI gui = new RecipeCreatorGUI(player, plugin.getRegistry(), factory);
+            RecipeCreatorGUI gui = new RecipeCreatorGUI(player, plugin.getRegistry(), factory, plugin.getTasks());
             factory.getPlugin().getServer().getPluginManager().registerEvents(gui, factory.getPlugin());
             player.openInventory(gui.getInventory());
             return;
@@ -1,9 +1,9 @@
 package dev.sora.itemcreator.gui;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -12,17 +12,19 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerQuitEvent;
 
 import dev.sora.itemcreator.core.ItemFactory;
+import dev.sora.itemcreator.scheduling.TaskScheduler;
 import io.papermc.paper.event.player.AsyncChatEvent;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
 public class RecipeMetadataInput implements Listener {
-    private static final Map<Player, RecipeMetadataInput> activeInputs = new HashMap<>();
+    private static final Map<Player, RecipeMetadataInput> activeInputs = new ConcurrentHashMap<>();
 
     private final Player player;
     private final RecipeCreatorGUI gui;
     private final ItemFactory factory;
+    private final TaskScheduler tasks;
     private final List<String> loreLines = new ArrayList<>();
     private String customName = null;
     private Integer customModelData = null;
@@ -42,20 +44,21 @@ public class RecipeMetadataInput implements Listener {
         COMPLETE
     }
 
-    private RecipeMetadataInput(Player player, RecipeCreatorGUI gui, ItemFactory factory) {
+    private RecipeMetadataInput(Player player, RecipeCreatorGUI gui, ItemFactory factory, TaskScheduler tasks) {
         this.player = player;
         this.gui = gui;
         this.factory = factory;
+        this.tasks = tasks;
     }
 
-    public static void startInput(Player player, RecipeCreatorGUI gui, ItemFactory factory) {
+    public static void startInput(Player player, RecipeCreatorGUI gui, ItemFactory factory, TaskScheduler tasks) {
         // Clean up any existing input session
         RecipeMetadataInput existing = activeInputs.get(player);
         if (existing != null) {
             existing.cleanup();
         }
 
-        RecipeMetadataInput input = new RecipeMetadataInput(player, gui, factory);
+        RecipeMetadataInput input = new RecipeMetadataInput(player, gui, factory, tasks);
         activeInputs.put(player, input);
         factory.getPlugin().getServer().getPluginManager().registerEvents(input, factory.getPlugin());
 
@@ -229,8 +232,8 @@ public class RecipeMetadataInput implements Listener {
     }
 
     private void completeRecipeCreation() {
-        // Schedule recipe creation on the main thread since AsyncChatEvent is async
-        factory.getPlugin().getServer().getScheduler().runTask(factory.getPlugin(), () -> {
+        // Schedule recipe creation on the player's thread since AsyncChatEvent is async
+        tasks.runFor(player, () -> {
             factory.getPlugin().getLogger().info("=== RECIPE METADATA INPUT DEBUG ===");
             factory.getPlugin().getLogger().info("Recipe ID: " + recipeId);
             factory.getPlugin().getLogger().info("Custom Name: " + customName);
@@ -249,17 +252,19 @@ public class RecipeMetadataInput implements Listener {
             factory.getPlugin().getLogger().info("Placeable setting: " + placeableForRecipe);
             factory.getPlugin().getLogger().info("=== END RECIPE METADATA INPUT DEBUG ===");
 
-            RecipeCreationResult result = RecipeCreator.createRecipe(
+            RecipeCreator.createRecipe(
                     gui, recipeId, customName, loreLines, customModelData, placeableForRecipe, useVanillaItem,
-                    outputAmount, factory);
-
-            if (result.isSuccess()) {
-                player.sendMessage(Component.text("Recipe created successfully!", NamedTextColor.GREEN));
-                player.sendMessage(Component.text("Recipe ID: " + recipeId, NamedTextColor.YELLOW));
-                player.sendMessage(Component.text("Players can now craft this item!", NamedTextColor.YELLOW));
-            } else {
-                player.sendMessage(Component.text("Failed to create recipe: " + result.getError(), NamedTextColor.RED));
-            }
+                    outputAmount, factory).thenAccept(result -> {
+                        if (result.isSuccess()) {
+                            player.sendMessage(Component.text("Recipe created successfully!", NamedTextColor.GREEN));
+                            player.sendMessage(Component.text("Recipe ID: " + recipeId, NamedTextColor.YELLOW));
+                            player.sendMessage(Component.text("Players can now craft this item!",
+                                    NamedTextColor.YELLOW));
+                        } else {
+                            player.sendMessage(Component.text("Failed to create recipe: " + result.getError(),
+                                    NamedTextColor.RED));
+                        }
+                    });
 
             cleanup();
         });
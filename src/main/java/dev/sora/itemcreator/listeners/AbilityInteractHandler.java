@@ -1,50 +1,42 @@
 package dev.sora.itemcreator.listeners;
 
-import java.util.List;
-import java.util.Optional;
-
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
 
 import dev.sora.itemcreator.abilities.AbilityManager;
-import dev.sora.itemcreator.abilities.ItemAbility;
 import dev.sora.itemcreator.core.CustomItem;
-import dev.sora.itemcreator.core.CustomItemRegistry;
 
 /**
  * Handles ability triggers for custom items
  */
-public class AbilityListener implements Listener {
+public class AbilityInteractHandler implements InteractHandler {
 
-    private final CustomItemRegistry registry;
     private final AbilityManager abilityManager;
 
-    public AbilityListener(CustomItemRegistry registry, AbilityManager abilityManager) {
-        this.registry = registry;
+    public AbilityInteractHandler(AbilityManager abilityManager) {
         this.abilityManager = abilityManager;
     }
 
-    @EventHandler
-    public void onPlayerInteract(PlayerInteractEvent event) {
-        Player player = event.getPlayer();
-        ItemStack item = event.getItem();
-
-        if (item == null || item.getType() == Material.AIR)
-            return;
+    @Override
+    public boolean appliesTo(CustomItem customItem) {
+        // Checked without materializing lazily loaded items
+        return customItem.declaresAbilities();
+    }
 
-        // Check if this is a custom item with abilities
-        Optional<CustomItem> customItem = registry.fromStack(item);
-        if (customItem.isEmpty())
-            return;
+    @Override
+    public boolean triggersOn(Action action) {
+        // Both the flint and steel trigger and plain right-click abilities are right-clicks
+        return action == Action.RIGHT_CLICK_AIR || action == Action.RIGHT_CLICK_BLOCK;
+    }
 
-        List<ItemAbility> abilities = customItem.get().getAbilities();
-        if (abilities.isEmpty())
+    @Override
+    public void handle(PlayerInteractEvent event, ItemStack item, CustomItem customItem) {
+        if (!customItem.hasAbilities())
             return;
+        Player player = event.getPlayer();
 
         // Check for flint and steel interaction (special trigger for flash-bang)
         if (isFlintAndSteelInteraction(event)) {
@@ -54,7 +46,7 @@ public class AbilityListener implements Listener {
                     item,
                     getInteractionLocation(event),
                     event,
-                    abilities);
+                    customItem);
 
             // Cancel the original interaction to prevent normal flint and steel behavior
             event.setCancelled(true);
@@ -73,7 +65,7 @@ public class AbilityListener implements Listener {
                     item,
                     getInteractionLocation(event),
                     event,
-                    abilities);
+                    customItem);
         }
     }
 
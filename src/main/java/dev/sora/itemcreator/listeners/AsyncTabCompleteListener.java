@@ -0,0 +1,65 @@
+package dev.sora.itemcreator.listeners;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.command.PluginCommand;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+
+/**
+ * Answers tab completion for registered commands on Paper's async completion
+ * thread, so typing an item id never costs main-thread time. The commands'
+ * completers must only read thread-safe state. Anything not handled here
+ * falls through to the usual synchronous completer.
+ */
+public class AsyncTabCompleteListener implements Listener {
+    // Lowercased label or alias, with and without the plugin prefix -> command
+    private final Map<String, PluginCommand> commands = new ConcurrentHashMap<>();
+
+    /**
+     * Serve the command's tab completer asynchronously under all its labels
+     */
+    public void register(PluginCommand command) {
+        String prefix = command.getPlugin().getName().toLowerCase(Locale.ROOT) + ":";
+        commands.put(command.getName().toLowerCase(Locale.ROOT), command);
+        commands.put(prefix + command.getName().toLowerCase(Locale.ROOT), command);
+        for (String alias : command.getAliases()) {
+            commands.put(alias.toLowerCase(Locale.ROOT), command);
+            commands.put(prefix + alias.toLowerCase(Locale.ROOT), command);
+        }
+    }
+
+    @EventHandler
+    public void onAsyncTabComplete(AsyncTabCompleteEvent event) {
+        if (event.isHandled() || !event.isCommand())
+            return;
+        String buffer = event.getBuffer();
+        int start = buffer.startsWith("/") ? 1 : 0;
+        int space = buffer.indexOf(' ', start);
+        // Still typing the command name itself
+        if (space < 0)
+            return;
+
+        String label = buffer.substring(start, space);
+        PluginCommand command = commands.get(label.toLowerCase(Locale.ROOT));
+        if (command == null || !command.testPermissionSilent(event.getSender()))
+            return;
+        TabCompleter completer = command.getTabCompleter();
+        if (completer == null)
+            return;
+
+        // Keep the trailing empty argument, it is the one being completed
+        String[] args = buffer.substring(space + 1).split(" ", -1);
+        List<String> completions = completer.onTabComplete(event.getSender(), command, label, args);
+        if (completions == null)
+            return;
+        event.setCompletions(completions);
+        event.setHandled(true);
+    }
+}
@@ -1,26 +1,38 @@
 package dev.sora.itemcreator.listeners;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.bukkit.Location;
 import org.bukkit.NamespacedKey;
 import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.PistonMoveReaction;
 import org.bukkit.block.TileState;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.Plugin;
 
+import dev.sora.itemcreator.core.CustomBlockStore;
 import dev.sora.itemcreator.core.CustomItemRegistry;
 import dev.sora.itemcreator.core.ItemFactory;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Handles block placement and breaking for custom items to maintain their
  * identity
@@ -30,26 +42,85 @@ public class BlockListener implements Listener {
     private final CustomItemRegistry registry;
     private final ItemFactory itemFactory;
     private final NamespacedKey customItemKey;
-    
-    // Fallback storage for non-tile entities (regular blocks like concrete)
-    private final Map<String, String> customBlocksMap = new HashMap<>();
 
-    public BlockListener(Plugin plugin, CustomItemRegistry registry, ItemFactory itemFactory) {
+    // Fallback storage for non-tile entities (regular blocks like concrete), kept in chunk data
+    private final CustomBlockStore blockStore;
+
+    public BlockListener(Plugin plugin, CustomItemRegistry registry, ItemFactory itemFactory,
+            CustomBlockStore blockStore) {
         this.plugin = plugin;
         this.registry = registry;
         this.itemFactory = itemFactory;
+        this.blockStore = blockStore;
         this.customItemKey = new NamespacedKey(plugin, "custom_item_id");
     }
 
-    @EventHandler(priority = EventPriority.NORMAL)
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        blockStore.load(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        blockStore.unload(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        forgetAll(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        forgetAll(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(BlockBurnEvent event) {
+        forget(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(BlockFadeEvent event) {
+        forget(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLeavesDecay(LeavesDecayEvent event) {
+        forget(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event) {
+        // Falling blocks, endermen and the like take the block away or replace it
+        forget(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        moveAll(event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        // The retract event's direction is the one the pulled blocks move in
+        moveAll(event.getBlocks(), event.getDirection());
+    }
+
+    // Runs once protection plugins have decided, so a cancelled placement never reaches chunk storage
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onBlockPlace(BlockPlaceEvent event) {
+        // Whatever is placed replaces any block we were tracking here
+        blockStore.remove(event.getBlock());
+
         ItemStack placedItem = event.getItemInHand();
+        if (!registry.isCustomMaterial(placedItem.getType()))
+            return;
 
         // Check if this is a custom item
         String customItemId = getCustomItemId(placedItem);
         if (customItemId != null) {
             Block block = event.getBlock();
-            String locationKey = locationToKey(block.getLocation());
 
             // Try to store the custom item ID in the block's persistent data (for tile entities)
             if (block.getState() instanceof TileState tileState) {
@@ -60,30 +131,26 @@ public class BlockListener implements Listener {
                 plugin.getLogger().info("Stored custom item ID '" + customItemId + "' in tile entity at " +
                         locationToString(block.getLocation()));
             } else {
-                // For non-tile blocks (like concrete), use fallback storage
-                customBlocksMap.put(locationKey, customItemId);
-                plugin.getLogger().info("Stored custom item ID '" + customItemId + "' in fallback storage for block at " +
+                // For non-tile blocks (like concrete), use the chunk's block table
+                blockStore.put(block, customItemId);
+                plugin.getLogger().info("Stored custom item ID '" + customItemId + "' in chunk storage for block at " +
                         locationToString(block.getLocation()));
             }
         }
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST)
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onBlockBreak(BlockBreakEvent event) {
-        if (event.isCancelled())
-            return;
-
         Block block = event.getBlock();
         final String customItemId;
-        String locationKey = locationToKey(block.getLocation());
 
         // Check if this block has custom item data stored (try tile entity first, then fallback)
         if (block.getState() instanceof TileState tileState) {
             PersistentDataContainer pdc = tileState.getPersistentDataContainer();
             customItemId = pdc.get(customItemKey, PersistentDataType.STRING);
         } else {
-            // Check fallback storage for regular blocks
-            customItemId = customBlocksMap.get(locationKey);
+            // Check chunk storage for regular blocks
+            customItemId = blockStore.get(block);
         }
 
         if (customItemId != null) {
@@ -93,7 +160,7 @@ public class BlockListener implements Listener {
             // Drop the custom item instead
             registry.get(customItemId).ifPresentOrElse(
                     customItem -> {
-                        ItemStack customItemStack = customItem.toItemStack(itemFactory);
+                        ItemStack customItemStack = itemFactory.create(customItem);
                         block.getWorld().dropItemNaturally(block.getLocation(), customItemStack);
                         plugin.getLogger().info("Dropped custom item '" + customItemId + "' from block break at " +
                                 locationToString(block.getLocation()));
@@ -102,24 +169,62 @@ public class BlockListener implements Listener {
                         plugin.getLogger().warning(
                                 "Custom item '" + customItemId + "' not found in registry, dropping vanilla item");
                     });
-            
-            // Remove from fallback storage
-            customBlocksMap.remove(locationKey);
         }
     }
 
+    // The entry is only dropped once the break is final
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBroken(BlockBreakEvent event) {
+        blockStore.remove(event.getBlock());
+    }
+
     /**
-     * Gets the custom item ID from an ItemStack's persistent data
+     * Move tracked blocks pushed or pulled by a piston. All entries are taken
+     * out before any is written back, since blocks move into each other's
+     * positions. Blocks the piston breaks instead of moving are forgotten.
      */
-    private String getCustomItemId(ItemStack item) {
-        if (item == null || !item.hasItemMeta())
-            return null;
+    private void moveAll(List<Block> blocks, BlockFace direction) {
+        List<Block> targets = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        for (Block block : blocks) {
+            boolean moves = block.getPistonMoveReaction() != PistonMoveReaction.BREAK;
+            String customItemId = blockStore.remove(block);
+            if (customItemId != null && moves) {
+                targets.add(block.getRelative(direction));
+                ids.add(customItemId);
+            }
+        }
+        for (int i = 0; i < targets.size(); i++) {
+            blockStore.put(targets.get(i), ids.get(i));
+        }
+    }
+
+    /**
+     * Forget a block that burned, melted, decayed or was changed by an entity.
+     * Only blocks placed from a custom item are tracked, so other materials
+     * (most ice, snow and leaves) skip the store entirely.
+     */
+    private void forget(Block block) {
+        if (registry.isCustomMaterial(block.getType())) {
+            blockStore.remove(block);
+        }
+    }
 
-        ItemMeta meta = item.getItemMeta();
-        PersistentDataContainer pdc = meta.getPersistentDataContainer();
-        NamespacedKey key = new NamespacedKey(plugin, "cid");
+    /**
+     * Forget tracked blocks destroyed by an explosion so their positions don't
+     * keep a stale id once the chunk data is saved
+     */
+    private void forgetAll(List<Block> blocks) {
+        for (Block block : blocks) {
+            blockStore.remove(block);
+        }
+    }
 
-        return pdc.get(key, PersistentDataType.STRING);
+    /**
+     * Gets the custom item ID from an ItemStack's persistent data
+     */
+    private String getCustomItemId(ItemStack item) {
+        return registry.readId(item);
     }
 
     /**
@@ -130,25 +235,18 @@ public class BlockListener implements Listener {
             loc.getBlockX(), loc.getBlockY(), loc.getBlockZ(), 
             loc.getWorld().getName());
     }
-    
-    /**
-     * Converts location to a unique string key for storage
-     */
-    private String locationToKey(Location loc) {
-        return loc.getWorld().getName() + ":" + loc.getBlockX() + ":" + loc.getBlockY() + ":" + loc.getBlockZ();
-    }
-    
+
     /**
-     * Get the number of tracked custom blocks (for debugging)
+     * Get the number of tracked custom blocks in loaded chunks (for debugging)
      */
     public int getTrackedBlockCount() {
-        return customBlocksMap.size();
+        return blockStore.size();
     }
-    
+
     /**
-     * Clear all tracked blocks (for reload)
+     * Get the number of loaded chunks holding tracked custom blocks
      */
-    public void clearTrackedBlocks() {
-        customBlocksMap.clear();
+    public int getTrackedChunkCount() {
+        return blockStore.chunkCount();
     }
-}
\ No newline at end of file
+}
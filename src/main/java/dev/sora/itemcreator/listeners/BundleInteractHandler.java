@@ -0,0 +1,50 @@
+package dev.sora.itemcreator.listeners;
+
+import dev.sora.itemcreator.core.CustomItem;
+import dev.sora.itemcreator.core.RecipeRegistrar;
+import org.bukkit.GameMode;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+
+public class BundleInteractHandler implements InteractHandler {
+    private final RecipeRegistrar recipes;
+
+    public BundleInteractHandler(RecipeRegistrar recipes) {
+        this.recipes = recipes;
+    }
+
+    @Override
+    public boolean appliesTo(CustomItem customItem) {
+        // Only box_of_ items can be unboxed on right-click
+        return customItem.getId().startsWith("box_of_");
+    }
+
+    @Override
+    public boolean triggersOn(Action action) {
+        return action == Action.RIGHT_CLICK_AIR || action == Action.RIGHT_CLICK_BLOCK;
+    }
+
+    @Override
+    public void handle(PlayerInteractEvent e, ItemStack item, CustomItem ci) {
+        if (e.getHand() != EquipmentSlot.HAND) return;
+
+        switch (e.getAction()) {
+            case RIGHT_CLICK_AIR, RIGHT_CLICK_BLOCK -> {
+                recipes.getBundleByBoxId(ci.getId()).ifPresent(info -> {
+                    Player p = e.getPlayer();
+                    if (p.getGameMode() != GameMode.CREATIVE) {
+                        item.setAmount(item.getAmount() - 1);
+                    }
+                    ItemStack unit = info.unit();
+                    unit.setAmount(info.count());
+                    p.getInventory().addItem(unit);
+                });
+                e.setCancelled(true);
+            }
+            default -> {}
+        }
+    }
+}
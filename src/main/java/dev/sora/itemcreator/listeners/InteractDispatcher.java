@@ -0,0 +1,101 @@
+package dev.sora.itemcreator.listeners;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.ItemStack;
+
+import dev.sora.itemcreator.abilities.TriggerRateLimiter;
+import dev.sora.itemcreator.core.CustomItem;
+import dev.sora.itemcreator.core.CustomItemRegistry;
+
+/**
+ * Single PlayerInteractEvent entry point for custom items. Resolves the item
+ * once per event, rate limits the player's triggers and runs the item's
+ * precomputed handler chain.
+ */
+public class InteractDispatcher implements Listener {
+    private static final InteractHandler[] NO_HANDLERS = new InteractHandler[0];
+
+    private final CustomItemRegistry registry;
+    private final TriggerRateLimiter rateLimiter;
+    private final InteractHandler[] handlers;
+    // Item id -> handlers that apply to it, in registration order; replaced on reload
+    private volatile Map<String, InteractHandler[]> chains = Map.of();
+
+    public InteractDispatcher(CustomItemRegistry registry, TriggerRateLimiter rateLimiter,
+            InteractHandler... handlers) {
+        this.registry = registry;
+        this.rateLimiter = rateLimiter;
+        this.handlers = handlers.clone();
+        registry.addReloadListener(this::rebuildChains);
+        rebuildChains();
+    }
+
+    /**
+     * Recompute the handler chain of every loaded item
+     */
+    public void rebuildChains() {
+        Map<String, InteractHandler[]> rebuilt = new HashMap<>();
+        for (CustomItem customItem : registry.snapshot().items().values()) {
+            List<InteractHandler> chain = new ArrayList<>();
+            for (InteractHandler handler : handlers) {
+                if (handler.appliesTo(customItem)) {
+                    chain.add(handler);
+                }
+            }
+            if (!chain.isEmpty()) {
+                rebuilt.put(customItem.getId(), chain.toArray(NO_HANDLERS));
+            }
+        }
+        chains = rebuilt;
+    }
+
+    @EventHandler
+    public void onPlayerInteract(PlayerInteractEvent event) {
+        ItemStack item = event.getItem();
+        if (item == null || !registry.isCustomMaterial(item.getType()))
+            return;
+
+        // Swings and mining never trigger anything, so they don't spend tokens
+        Action action = event.getAction();
+        if (!triggers(handlers, action))
+            return;
+
+        // Checked before the item's data is read, so spammed clicks cost a bucket
+        // lookup only. Over the limit the item's own use is denied too, or a custom
+        // item would be thrown, eaten or placed in place of its ability.
+        if (!rateLimiter.tryAcquire(event.getPlayer().getUniqueId())) {
+            event.setUseItemInHand(Event.Result.DENY);
+            return;
+        }
+
+        CustomItem customItem = registry.identify(item);
+        if (customItem == null)
+            return;
+
+        InteractHandler[] chain = chains.get(customItem.getId());
+        if (chain == null || !triggers(chain, action))
+            return;
+
+        // Handlers see each other's cancellations, same as the separate listeners did
+        for (InteractHandler handler : chain) {
+            handler.handle(event, item, customItem);
+        }
+    }
+
+    private static boolean triggers(InteractHandler[] chain, Action action) {
+        for (InteractHandler handler : chain) {
+            if (handler.triggersOn(action))
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,34 @@
+package dev.sora.itemcreator.listeners;
+
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.ItemStack;
+
+import dev.sora.itemcreator.core.CustomItem;
+
+/**
+ * One step of a custom item's interaction chain, run by {@link InteractDispatcher}
+ */
+public interface InteractHandler {
+
+    /**
+     * Whether this handler has anything to do for the given item. Evaluated once
+     * per item when the chain is built, not per event.
+     */
+    boolean appliesTo(CustomItem customItem);
+
+    /**
+     * Whether the action can trigger this handler. Only triggering actions
+     * count against the player's trigger rate limit.
+     */
+    boolean triggersOn(Action action);
+
+    /**
+     * Handle an interaction with an already-resolved custom item
+     *
+     * @param event      The interaction event
+     * @param item       The stack in the interacting hand
+     * @param customItem The custom item the stack was resolved to
+     */
+    void handle(PlayerInteractEvent event, ItemStack item, CustomItem customItem);
+}
@@ -0,0 +1,41 @@
+package dev.sora.itemcreator.listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.ItemStack;
+
+import dev.sora.itemcreator.abilities.AbilityManager;
+import dev.sora.itemcreator.core.CustomItemRegistry;
+
+/**
+ * Upgrades a player's items when they join and releases per-player state when they leave
+ */
+public class PlayerSessionListener implements Listener {
+    private final CustomItemRegistry registry;
+    private final AbilityManager abilityManager;
+
+    public PlayerSessionListener(CustomItemRegistry registry, AbilityManager abilityManager) {
+        this.registry = registry;
+        this.abilityManager = abilityManager;
+    }
+
+    /**
+     * Give custom items that lack a current handle one, so old items also match
+     * recipes built from the current prototypes. Stacks that already have it,
+     * and vanilla items, are only read.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        for (ItemStack stack : event.getPlayer().getInventory().getContents()) {
+            registry.upgrade(stack);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        abilityManager.evictPlayer(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,84 @@
+package dev.sora.itemcreator.scheduling;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Routes work through Paper's region-aware schedulers. They exist on Paper as
+ * well as Folia; on Paper they all run on the main thread, so this behaves
+ * like the old BukkitScheduler calls there.
+ */
+public class PaperTaskScheduler implements TaskScheduler {
+    private static final boolean REGION_THREADED = detectRegionThreading();
+
+    private final Plugin plugin;
+
+    public PaperTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+    }
+
+    @Override
+    public void runGlobalLater(Runnable task, long delayTicks) {
+        Bukkit.getGlobalRegionScheduler().runDelayed(plugin, scheduled -> task.run(), Math.max(1, delayTicks));
+    }
+
+    @Override
+    public void runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(), Math.max(1, delayTicks),
+                Math.max(1, periodTicks));
+    }
+
+    @Override
+    public void runAt(Location location, Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(location)) {
+            task.run();
+        } else {
+            Bukkit.getRegionScheduler().execute(plugin, location, task);
+        }
+    }
+
+    @Override
+    public void runAtLater(Location location, Runnable task, long delayTicks) {
+        Bukkit.getRegionScheduler().runDelayed(plugin, location, scheduled -> task.run(), Math.max(1, delayTicks));
+    }
+
+    @Override
+    public void runFor(Entity entity, Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(entity)) {
+            task.run();
+        } else {
+            entity.getScheduler().run(plugin, scheduled -> task.run(), null);
+        }
+    }
+
+    @Override
+    public void runForLater(Entity entity, Runnable task, long delayTicks) {
+        entity.getScheduler().runDelayed(plugin, scheduled -> task.run(), null, Math.max(1, delayTicks));
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        Bukkit.getAsyncScheduler().runNow(plugin, scheduled -> task.run());
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return REGION_THREADED;
+    }
+
+    private static boolean detectRegionThreading() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package dev.sora.itemcreator.scheduling;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+/**
+ * Where plugin work runs. On a region-threaded (Folia) server the world is
+ * ticked by several threads, each owning a set of regions, so work has to be
+ * routed to the thread that owns what it touches: an entity, a location, or
+ * neither (the global region). On Paper every target is the main thread.
+ */
+public interface TaskScheduler {
+
+    /**
+     * Run on the global region next tick, for work that touches no particular
+     * entity or location, e.g. registry commits and recipe changes
+     */
+    void runGlobal(Runnable task);
+
+    void runGlobalLater(Runnable task, long delayTicks);
+
+    void runGlobalTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Run on the thread owning the location; inline if that is the current thread
+     */
+    void runAt(Location location, Runnable task);
+
+    void runAtLater(Location location, Runnable task, long delayTicks);
+
+    /**
+     * Run on the thread owning the entity, following it across regions; inline
+     * if that is the current thread. Dropped if the entity is removed first.
+     */
+    void runFor(Entity entity, Runnable task);
+
+    void runForLater(Entity entity, Runnable task, long delayTicks);
+
+    /**
+     * Run off every tick thread, for file and other blocking work
+     */
+    void runAsync(Runnable task);
+
+    /**
+     * Whether the server ticks regions on separate threads
+     */
+    boolean isRegionThreaded();
+}
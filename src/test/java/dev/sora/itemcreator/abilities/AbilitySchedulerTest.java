@@ -0,0 +1,103 @@
+package dev.sora.itemcreator.abilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.bukkit.Location;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.entity.Entity;
+import org.junit.jupiter.api.Test;
+
+import dev.sora.itemcreator.scheduling.FakeTaskScheduler;
+
+class AbilitySchedulerTest {
+    private static final Logger LOGGER = Logger.getLogger(AbilitySchedulerTest.class.getName());
+
+    @Test
+    void queuedWorkWaitsForTheNextTick() {
+        FakeTaskScheduler tasks = new FakeTaskScheduler();
+        AbilityScheduler scheduler = new AbilityScheduler(tasks, LOGGER);
+        tasks.runGlobalTimer(scheduler::tick, 1, 1);
+        List<String> ran = new ArrayList<>();
+
+        scheduler.submit(new Location(null, 0, 64, 0), () -> ran.add("area"));
+        scheduler.submit((Entity) null, () -> ran.add("player"));
+
+        assertTrue(ran.isEmpty());
+        assertEquals(2, scheduler.getQueueDepth());
+
+        tasks.tick();
+
+        assertEquals(List.of("area", "player"), ran);
+        assertEquals(0, scheduler.getQueueDepth());
+        assertEquals(2, scheduler.getPeakDepth());
+        assertEquals(2, scheduler.getCompletedTasks());
+        assertTrue(tasks.routedToLocations().isEmpty());
+    }
+
+    @Test
+    void exhaustedBudgetSpreadsWorkOverTicks() {
+        FakeTaskScheduler tasks = new FakeTaskScheduler();
+        AbilityScheduler scheduler = new AbilityScheduler(tasks, LOGGER);
+        MemoryConfiguration config = new MemoryConfiguration();
+        config.set("abilities.scheduler.budget-ms", 0.1);
+        scheduler.configure(config);
+        tasks.runGlobalTimer(scheduler::tick, 1, 1);
+
+        for (int i = 0; i < 3; i++) {
+            scheduler.submit((Entity) null, AbilitySchedulerTest::sleepOneMilli);
+        }
+
+        // Each task alone overruns the budget, but one always runs so the queue drains
+        tasks.tick();
+        assertEquals(1, scheduler.getLastTickTasks());
+        assertEquals(2, scheduler.getQueueDepth());
+        tasks.tick(2);
+        assertEquals(0, scheduler.getQueueDepth());
+        assertEquals(3, scheduler.getCompletedTasks());
+    }
+
+    @Test
+    void failingTaskDoesNotStallTheQueue() {
+        FakeTaskScheduler tasks = new FakeTaskScheduler();
+        AbilityScheduler scheduler = new AbilityScheduler(tasks, LOGGER);
+        tasks.runGlobalTimer(scheduler::tick, 1, 1);
+        List<String> ran = new ArrayList<>();
+
+        scheduler.submit((Entity) null, () -> {
+            throw new IllegalStateException("boom");
+        });
+        scheduler.submit((Entity) null, () -> ran.add("after"));
+        tasks.tick();
+
+        assertEquals(List.of("after"), ran);
+    }
+
+    @Test
+    void regionThreadedWorkGoesToTheOwningScheduler() {
+        FakeTaskScheduler tasks = new FakeTaskScheduler(true);
+        AbilityScheduler scheduler = new AbilityScheduler(tasks, LOGGER);
+        Location location = new Location(null, 10, 64, -10);
+        List<String> ran = new ArrayList<>();
+
+        scheduler.submit(location, () -> ran.add("area"));
+        scheduler.submit((Entity) null, () -> ran.add("player"));
+
+        assertEquals(List.of("area", "player"), ran);
+        assertEquals(List.of(location), tasks.routedToLocations());
+        assertEquals(1, tasks.routedToEntities().size());
+        assertEquals(0, scheduler.getQueueDepth());
+    }
+
+    private static void sleepOneMilli() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
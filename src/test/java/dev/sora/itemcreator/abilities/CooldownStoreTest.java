@@ -0,0 +1,118 @@
+package dev.sora.itemcreator.abilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class CooldownStoreTest {
+    private static final int THREADS = 8;
+    // Timestamps written for player i are i * STAMP + n, so a read shows whose row it came from
+    private static final long STAMP = 1_000_000_000L;
+
+    @Test
+    void evictedSlotIsReusedWithoutOldCooldowns() {
+        CooldownStore store = new CooldownStore();
+        int heal = store.ordinal("heal");
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        store.setLastUsed(first, heal, 42);
+        store.evict(first);
+        store.setLastUsed(second, store.ordinal("teleport"), 7);
+
+        assertEquals(0, store.getLastUsed(first, heal));
+        assertEquals(0, store.getLastUsed(second, heal));
+        assertEquals(7, store.getLastUsed(second, store.ordinal("teleport")));
+    }
+
+    @Test
+    void concurrentWritersKeepTheirOwnRows() throws Exception {
+        CooldownStore store = new CooldownStore();
+        int[] ordinals = { store.ordinal("heal"), store.ordinal("teleport"), store.ordinal("flashbang") };
+        UUID[] players = players(THREADS * 16);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    // Each thread owns every THREADS-th player, so rows on one stripe are shared
+                    for (int round = 1; round <= 2_000; round++) {
+                        for (int p = thread; p < players.length; p += THREADS) {
+                            for (int ordinal : ordinals) {
+                                store.setLastUsed(players[p], ordinal, p * STAMP + round);
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (int p = 0; p < players.length; p++) {
+            for (int ordinal : ordinals) {
+                assertEquals(p * STAMP + 2_000, store.getLastUsed(players[p], ordinal));
+            }
+        }
+    }
+
+    @Test
+    void readersNeverSeeAnotherPlayersRow() throws Exception {
+        CooldownStore store = new CooldownStore();
+        int heal = store.ordinal("heal");
+        // Few players, so freed slots are reused constantly
+        UUID[] players = players(THREADS * 2);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 200_000; i++) {
+                        int p = random.nextInt(players.length);
+                        switch (random.nextInt(3)) {
+                            case 0 -> store.setLastUsed(players[p], heal, p * STAMP + i);
+                            case 1 -> store.evict(players[p]);
+                            default -> {
+                                long value = store.getLastUsed(players[p], heal);
+                                if (value != 0 && value / STAMP != p)
+                                    return "player " + p + " read " + value;
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<String> result : results) {
+                String failure = result.get(60, TimeUnit.SECONDS);
+                assertTrue(failure == null, failure);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static UUID[] players(int count) {
+        UUID[] players = new UUID[count];
+        for (int i = 0; i < count; i++) {
+            players[i] = UUID.randomUUID();
+        }
+        return players;
+    }
+}
@@ -0,0 +1,73 @@
+package dev.sora.itemcreator.abilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import dev.sora.itemcreator.scheduling.FakeTaskScheduler;
+
+class TimingWheelTest {
+
+    @Test
+    void firesOnTheScheduledTick() {
+        FakeTaskScheduler tasks = new FakeTaskScheduler();
+        Map<String, Long> firedAt = new HashMap<>();
+        TimingWheel<String> wheel = new TimingWheel<>(name -> firedAt.put(name, tasks.currentTick()));
+        tasks.runGlobalTimer(wheel::tick, 1, 1);
+
+        wheel.schedule(1, "next");
+        wheel.schedule(20, "second");
+        wheel.schedule(64, "first-cascade");
+        wheel.schedule(5_000, "second-level");
+        wheel.schedule(300_000, "third-level");
+        assertEquals(5, wheel.size());
+
+        tasks.tick(300_000);
+
+        assertEquals(1L, firedAt.get("next"));
+        assertEquals(20L, firedAt.get("second"));
+        assertEquals(64L, firedAt.get("first-cascade"));
+        assertEquals(5_000L, firedAt.get("second-level"));
+        assertEquals(300_000L, firedAt.get("third-level"));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void zeroDelayWaitsOneTick() {
+        FakeTaskScheduler tasks = new FakeTaskScheduler();
+        Map<String, Long> firedAt = new HashMap<>();
+        TimingWheel<String> wheel = new TimingWheel<>(name -> firedAt.put(name, tasks.currentTick()));
+        tasks.runGlobalTimer(wheel::tick, 1, 1);
+
+        wheel.schedule(0, "now");
+        assertTrue(firedAt.isEmpty());
+        tasks.tick();
+
+        assertEquals(1L, firedAt.get("now"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void callbacksMayScheduleFollowUps() {
+        FakeTaskScheduler tasks = new FakeTaskScheduler();
+        Map<String, Long> firedAt = new HashMap<>();
+        TimingWheel<String>[] holder = new TimingWheel[1];
+        holder[0] = new TimingWheel<>(name -> {
+            firedAt.put(name, tasks.currentTick());
+            if (name.equals("first")) {
+                holder[0].schedule(10, "follow-up");
+            }
+        });
+        tasks.runGlobalTimer(holder[0]::tick, 1, 1);
+
+        holder[0].schedule(5, "first");
+        tasks.tick(20);
+
+        assertEquals(5L, firedAt.get("first"));
+        assertEquals(15L, firedAt.get("follow-up"));
+    }
+}
@@ -0,0 +1,130 @@
+package dev.sora.itemcreator.scheduling;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+/**
+ * Single-threaded stand-in for the server schedulers. Ticks only advance when
+ * the test calls {@link #tick()}; location and entity work runs inline, as it
+ * does when the caller already owns the target, and is recorded so tests can
+ * see where it was routed. Async work runs inline too.
+ */
+public class FakeTaskScheduler implements TaskScheduler {
+    private final boolean regionThreaded;
+    private final List<Scheduled> scheduled = new ArrayList<>();
+    private final List<Location> locations = new ArrayList<>();
+    private final List<Entity> entities = new ArrayList<>();
+    private long currentTick;
+
+    public FakeTaskScheduler() {
+        this(false);
+    }
+
+    public FakeTaskScheduler(boolean regionThreaded) {
+        this.regionThreaded = regionThreaded;
+    }
+
+    /**
+     * Advance one tick and run everything that became due
+     */
+    public void tick() {
+        currentTick++;
+        List<Scheduled> due = new ArrayList<>();
+        for (Iterator<Scheduled> it = scheduled.iterator(); it.hasNext();) {
+            Scheduled task = it.next();
+            if (task.nextTick <= currentTick) {
+                due.add(task);
+                if (task.periodTicks > 0) {
+                    task.nextTick += task.periodTicks;
+                } else {
+                    it.remove();
+                }
+            }
+        }
+        // Run after the scan so tasks may schedule more work
+        due.forEach(task -> task.task.run());
+    }
+
+    public void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            tick();
+        }
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public List<Location> routedToLocations() {
+        return locations;
+    }
+
+    public List<Entity> routedToEntities() {
+        return entities;
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        runGlobalLater(task, 1);
+    }
+
+    @Override
+    public void runGlobalLater(Runnable task, long delayTicks) {
+        scheduled.add(new Scheduled(task, currentTick + Math.max(1, delayTicks), 0));
+    }
+
+    @Override
+    public void runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        scheduled.add(new Scheduled(task, currentTick + Math.max(1, delayTicks), Math.max(1, periodTicks)));
+    }
+
+    @Override
+    public void runAt(Location location, Runnable task) {
+        locations.add(location);
+        task.run();
+    }
+
+    @Override
+    public void runAtLater(Location location, Runnable task, long delayTicks) {
+        locations.add(location);
+        runGlobalLater(task, delayTicks);
+    }
+
+    @Override
+    public void runFor(Entity entity, Runnable task) {
+        entities.add(entity);
+        task.run();
+    }
+
+    @Override
+    public void runForLater(Entity entity, Runnable task, long delayTicks) {
+        entities.add(entity);
+        runGlobalLater(task, delayTicks);
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        task.run();
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return regionThreaded;
+    }
+
+    private static final class Scheduled {
+        private final Runnable task;
+        private final long periodTicks;
+        private long nextTick;
+
+        Scheduled(Runnable task, long nextTick, long periodTicks) {
+            this.task = task;
+            this.nextTick = nextTick;
+            this.periodTicks = periodTicks;
+        }
+    }
+}